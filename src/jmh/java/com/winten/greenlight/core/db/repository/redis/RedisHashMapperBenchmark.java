@@ -0,0 +1,172 @@
+package com.winten.greenlight.core.db.repository.redis;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.winten.greenlight.core.db.repository.redis.action.ActionHashMapper;
+import com.winten.greenlight.core.db.repository.redis.customer.CustomerSessionCodec;
+import com.winten.greenlight.core.domain.action.Action;
+import com.winten.greenlight.core.domain.action.ActionGroup;
+import com.winten.greenlight.core.domain.action.ActionType;
+import com.winten.greenlight.core.domain.action.DefaultRuleType;
+import com.winten.greenlight.core.domain.customer.CustomerSession;
+import com.winten.greenlight.core.domain.customer.WaitStatus;
+import com.winten.greenlight.core.support.config.JacksonConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis hash 조회 결과를 도메인 객체로 변환하는 비용을 이전 방식(Jackson Map 변환 + convertValue)과 비교합니다.
+ * 입력은 Redis에서 받은 값과 같은 byte 배열이며, 값 문자열 변환부터 객체 생성까지를 한 번의 조회로 측정합니다.
+ * 조회당 할당량은 gc profiler(gc.alloc.rate.norm)로 확인합니다. (./gradlew jmh)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RedisHashMapperBenchmark {
+    private ObjectMapper objectMapper;
+    private GenericJackson2JsonRedisSerializer jsonSerializer;
+    private ActionHashMapper actionHashMapper;
+    private CustomerSessionCodec customerSessionCodec;
+
+    private Map<String, byte[]> actionHash;
+    private Map<String, byte[]> actionGroupHash;
+    private Map<String, byte[]> sessionHash;
+    private CustomerSession session;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new JacksonConfiguration().objectMapper();
+        jsonSerializer = new GenericJackson2JsonRedisSerializer(objectMapper);
+        actionHashMapper = new ActionHashMapper(objectMapper);
+        customerSessionCodec = new CustomerSessionCodec();
+
+        var now = LocalDateTime.of(2025, 10, 1, 10, 0, 0);
+        actionHash = toRedisHash(Action.builder()
+                .id(1001L)
+                .actionGroupId(10L)
+                .ownerId("owner-1")
+                .name("콘서트 티켓 예매")
+                .enabled(true)
+                .actionUrl("/products/detail")
+                .actionType(ActionType.LANDING)
+                .landingId("concert-2025")
+                .landingStartAt(now)
+                .landingEndAt(now.plusDays(1))
+                .landingDestinationUrl("https://www.example-event.com/main?from=\"greenlight\"")
+                .defaultRuleType(DefaultRuleType.ALL)
+                .createdBy("admin")
+                .createdAt(now)
+                .updatedBy("admin")
+                .updatedAt(now)
+                .build());
+        actionGroupHash = toRedisHash(ActionGroup.builder()
+                .id(10L)
+                .ownerId("owner-1")
+                .name("티켓 예매 그룹")
+                .description("콘서트 티켓 예매 대기열")
+                .maxTrafficPerSecond(500)
+                .enabled(true)
+                .createdBy("admin")
+                .createdAt(now)
+                .build());
+        session = CustomerSession.builder()
+                .actionGroupId(10L)
+                .actionId(1001L)
+                .customerId("1001:0ABCDEF123456")
+                .timestamp(1759280400000L)
+                .waitStatus(WaitStatus.WAITING)
+                .verified(false)
+                .accessCount(0L)
+                .destinationUrl("https://www.example-event.com/main")
+                .ticketNo(42L)
+                .build();
+        sessionHash = toRedisHash(session);
+    }
+
+    @Benchmark
+    public Action actionConvertValue() {
+        return objectMapper.convertValue(toObjectMap(actionHash), Action.class);
+    }
+
+    @Benchmark
+    public Action actionHashMapper() {
+        return actionHashMapper.toAction(toStringMap(actionHash));
+    }
+
+    @Benchmark
+    public ActionGroup actionGroupConvertValue() {
+        return objectMapper.convertValue(toObjectMap(actionGroupHash), ActionGroup.class);
+    }
+
+    @Benchmark
+    public ActionGroup actionGroupHashMapper() {
+        return actionHashMapper.toActionGroup(toStringMap(actionGroupHash));
+    }
+
+    @Benchmark
+    public CustomerSession sessionConvertValue() {
+        return objectMapper.convertValue(toObjectMap(sessionHash), CustomerSession.class);
+    }
+
+    @Benchmark
+    public CustomerSession sessionCodec() {
+        return customerSessionCodec.decode(toStringMap(sessionHash));
+    }
+
+    @Benchmark
+    public Map<String, String> sessionEncodeConvertValue() throws JsonProcessingException {
+        Map<String, Object> map = objectMapper.convertValue(session, new TypeReference<>() {});
+        var hash = new LinkedHashMap<String, String>(map.size() + 1);
+        for (var entry : map.entrySet()) {
+            hash.put(entry.getKey(), entry.getValue() != null ? objectMapper.writeValueAsString(entry.getValue()) : "");
+        }
+        return hash;
+    }
+
+    @Benchmark
+    public Map<String, String> sessionEncodeCodec() {
+        return customerSessionCodec.encode(session);
+    }
+
+    // 이전 방식: jsonRedisTemplate.opsForHash().entries() 가 값마다 수행하던 역직렬화
+    private Map<String, Object> toObjectMap(Map<String, byte[]> hash) {
+        var map = new HashMap<String, Object>(hash.size());
+        hash.forEach((field, value) -> map.put(field, jsonSerializer.deserialize(value)));
+        return map;
+    }
+
+    // 현재 방식: stringRedisTemplate.opsForHash().entries() 의 값 문자열 변환
+    private static Map<String, String> toStringMap(Map<String, byte[]> hash) {
+        var map = new HashMap<String, String>(hash.size());
+        hash.forEach((field, value) -> map.put(field, new String(value, StandardCharsets.UTF_8)));
+        return map;
+    }
+
+    // 관리 서버가 jsonRedisTemplate으로 저장한 것과 같은 형식 (필드별 JSON 값, null은 빈 값)
+    private Map<String, byte[]> toRedisHash(Object source) {
+        Map<String, Object> map = objectMapper.convertValue(source, new TypeReference<>() {});
+        var hash = new HashMap<String, byte[]>(map.size());
+        map.forEach((field, value) -> hash.put(field, jsonSerializer.serialize(value)));
+        return hash;
+    }
+}
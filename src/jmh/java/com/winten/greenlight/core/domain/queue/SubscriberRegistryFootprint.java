@@ -0,0 +1,38 @@
+package com.winten.greenlight.core.domain.queue;
+
+import io.hypersistence.tsid.TSID;
+import org.openjdk.jol.info.GraphLayout;
+import org.openjdk.jol.vm.VM;
+
+/**
+ * SubscriberRegistry 에 SSE 구독자를 등록했을 때 구독자 한 명당 유지되는 메모리(byte)를 JOL로 측정합니다.
+ * 구독자, 그룹 배열, 고객 조회용 인덱스를 포함한 registry 전체 크기를 구독자 수로 나누며,
+ * 연결마다 만들어지는 sink(reactor)는 따로 집계해 registry 자체의 크기와 구분합니다. (./gradlew subscriberFootprint)
+ */
+public class SubscriberRegistryFootprint {
+    private static final int[] SUBSCRIBER_COUNTS = {1_000, 10_000, 100_000};
+    private static final long ACTION_GROUP_COUNT = 10L;
+
+    public static void main(String[] args) {
+        System.out.println(VM.current().details());
+        for (int count : SUBSCRIBER_COUNTS) {
+            measure(count);
+        }
+    }
+
+    private static void measure(int count) {
+        var registry = new SubscriberRegistry();
+        long emptySize = GraphLayout.parseInstance(registry).totalSize();
+        var sinks = new Object[count];
+        for (int i = 0; i < count; i++) {
+            long actionId = 1000L + i % ACTION_GROUP_COUNT;
+            long customerKey = TSID.fast().toLong();
+            var subscriber = registry.register(actionId % ACTION_GROUP_COUNT, actionId, customerKey);
+            sinks[i] = subscriber.sink;
+        }
+        long totalSize = GraphLayout.parseInstance(registry).totalSize() - emptySize;
+        long sinkSize = GraphLayout.parseInstance(sinks).totalSize() - GraphLayout.parseInstance((Object) new Object[count]).totalSize();
+        System.out.printf("subscribers: %d, bytes/subscriber: %.1f (sink: %.1f, registry: %.1f)%n",
+                count, totalSize / (double) count, sinkSize / (double) count, (totalSize - sinkSize) / (double) count);
+    }
+}
@@ -1,9 +1,11 @@
 package com.winten.greenlight.core.api.controller.queue;
 
 import com.winten.greenlight.core.domain.action.ActionService;
-import com.winten.greenlight.core.domain.customer.CustomerConverter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestHeader;
@@ -17,7 +19,7 @@ import reactor.core.publisher.Mono;
 @RequiredArgsConstructor
 public class ActionController {
     private final ActionService actionService;
-    private final CustomerConverter customerConverter;
+    private final QueueConfigBodyCache queueConfigBodyCache;
     /**
      * Action 목록 조회기능 추가
      *
@@ -27,11 +29,48 @@ public class ActionController {
      */
     // TODO 보안키 적용 필요함
     @GetMapping("/api/v1/config")
-    public Mono<ResponseEntity<QueueConfigResponse>> getGreenlightStatus(
+    public Mono<ResponseEntity<byte[]>> getGreenlightStatus(
             QueueConfigRequest request,
-            @RequestHeader(value = "X-GREENLIGHT-API-KEY", required = false) String greenlightApiKey // TODO Site ID로 조회 가능한 Action 목록 제어
+            @RequestHeader(value = "X-GREENLIGHT-API-KEY", required = false) String greenlightApiKey, // TODO Site ID로 조회 가능한 Action 목록 제어
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
     ) {
-        return actionService.getActionConfig(request.getVersion())
-                .map(config -> ResponseEntity.ok(customerConverter.toResponse(config)));
+        return actionService.getCurrentActionConfig()
+                .map(config -> {
+                    var etag = QueueConfigBodyCache.etagOf(config.getVersion());
+                    if (config.getVersion().equals(request.getVersion()) || matchesEtag(ifNoneMatch, etag)) { // 변경 없음, body 없이 304
+                        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).<byte[]>build();
+                    }
+                    var body = Boolean.TRUE.equals(request.getDelta()) ? queueConfigBodyCache.delta(request.getVersion(), config) : null;
+                    if (body == null) {
+                        body = queueConfigBodyCache.full(config);
+                    }
+                    var response = ResponseEntity.ok()
+                            .eTag(etag)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+                    if (acceptsGzip(acceptEncoding)) {
+                        return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(body.gzip());
+                    }
+                    return response.body(body.json());
+                });
     }
-}
\ No newline at end of file
+
+    private boolean matchesEtag(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        var opaqueTag = etag.substring(2); // W/ 제외, 비교는 weak comparison
+        for (var candidate : ifNoneMatch.split(",")) {
+            var tag = candidate.trim();
+            if (tag.equals("*") || tag.equals(etag) || tag.equals(opaqueTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean acceptsGzip(String acceptEncoding) {
+        return acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+    }
+}
@@ -0,0 +1,149 @@
+package com.winten.greenlight.core.api.controller.queue;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.winten.greenlight.core.domain.customer.CustomerConverter;
+import com.winten.greenlight.core.domain.queue.ActionConfig;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * /api/v1/config 응답 body를 version 별로 미리 직렬화(JSON, gzip)해 보관합니다.
+ * 같은 version을 요청하는 클라이언트에게는 직렬화 없이 보관된 byte 배열을 그대로 전달하며,
+ * 클라이언트의 version이 최근 retained-versions 안에 있다면 변경된 Action만 담은 delta body도 만들 수 있습니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class QueueConfigBodyCache {
+    private final CustomerConverter customerConverter;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * delta 계산을 위해 보관할 최근 version 수
+     */
+    @Value("${greenlight.action-config.retained-versions:8}")
+    private int retainedVersions;
+
+    // key: version
+    private Cache<String, EncodedConfig> fullBodies;
+    // key: baseVersion + " " + version
+    private Cache<String, EncodedBody> deltaBodies;
+
+    @PostConstruct
+    public void init() {
+        fullBodies = Caffeine.newBuilder().maximumSize(retainedVersions).build();
+        deltaBodies = Caffeine.newBuilder().maximumSize(retainedVersions * 4L).build();
+    }
+
+    /**
+     * version을 weak ETag로 변환합니다. gzip 여부와 관계없이 같은 version이라면 같은 ETag를 사용합니다.
+     */
+    public static String etagOf(String version) {
+        return "W/\"" + version + "\"";
+    }
+
+    /**
+     * 전체 Action 목록을 담은 body를 반환합니다.
+     */
+    public EncodedBody full(ActionConfig config) {
+        return fullBodies.get(config.getVersion(), version -> {
+            var response = customerConverter.toResponse(config);
+            return new EncodedConfig(response, encode(response));
+        }).body();
+    }
+
+    /**
+     * baseVersion 이후 변경(추가, 수정)된 Action과 삭제된 Action ID만 담은 body를 반환합니다.
+     *
+     * @return baseVersion의 설정이 이 노드에 남아있지 않다면 null (전체 body를 사용해야 함)
+     */
+    public EncodedBody delta(String baseVersion, ActionConfig config) {
+        if (baseVersion == null) {
+            return null;
+        }
+        var base = fullBodies.getIfPresent(baseVersion);
+        if (base == null) {
+            return null;
+        }
+        full(config); // 현재 version도 다음 delta의 기준이 될 수 있도록 보관
+        var current = fullBodies.getIfPresent(config.getVersion());
+        if (current == null) {
+            return null;
+        }
+        return deltaBodies.get(baseVersion + " " + config.getVersion(), key -> encode(diff(baseVersion, base.response(), current.response())));
+    }
+
+    private QueueConfigResponse diff(String baseVersion, QueueConfigResponse base, QueueConfigResponse current) {
+        Map<Long, QueueConfigResponse.QueueConfigActionResponse> baseActions = new HashMap<>();
+        for (var action : base.getActions()) {
+            baseActions.put(action.getId(), action);
+        }
+        var changed = new ArrayList<QueueConfigResponse.QueueConfigActionResponse>();
+        var currentIds = new HashSet<Long>();
+        for (var action : current.getActions()) {
+            currentIds.add(action.getId());
+            if (!action.equals(baseActions.get(action.getId()))) {
+                changed.add(action);
+            }
+        }
+        List<Long> removed = base.getActions().stream()
+                .map(QueueConfigResponse.QueueConfigActionResponse::getId)
+                .filter(id -> !currentIds.contains(id))
+                .toList();
+
+        var delta = new QueueConfigResponse();
+        delta.setSystemStatus(current.getSystemStatus());
+        delta.setVersion(current.getVersion());
+        delta.setBaseVersion(baseVersion);
+        delta.setActions(changed);
+        delta.setRemovedActionIds(removed);
+        return delta;
+    }
+
+    private EncodedBody encode(QueueConfigResponse response) {
+        try {
+            var json = objectMapper.writeValueAsBytes(response);
+            return new EncodedBody(json, gzip(json));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("failed to serialize config response. version: " + response.getVersion(), e);
+        }
+    }
+
+    private static byte[] gzip(byte[] source) {
+        var out = new ByteArrayOutputStream(Math.max(64, source.length / 4));
+        try (var gzip = new GZIPOutputStream(out)) {
+            gzip.write(source);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private record EncodedConfig(QueueConfigResponse response, EncodedBody body) {
+    }
+
+    /**
+     * 직렬화된 응답 body
+     *
+     * @param json JSON body
+     * @param gzip gzip으로 압축한 JSON body
+     */
+    public record EncodedBody(byte[] json, byte[] gzip) {
+    }
+}
@@ -5,4 +5,9 @@ import lombok.Data;
 @Data
 public class QueueConfigRequest {
     private String version;
+
+    /**
+     * true 라면 version 이후 변경된 Action만 요청 (해당 version을 알 수 없다면 전체 목록으로 응답)
+     */
+    private Boolean delta;
 }
\ No newline at end of file
@@ -14,6 +14,18 @@ public class QueueConfigResponse {
     private String version;
     private List<QueueConfigActionResponse> actions;
 
+    /**
+     * delta 응답인 경우 기준이 된 클라이언트의 version, actions 에는 이 version 이후 추가/수정된 Action만 포함
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String baseVersion;
+
+    /**
+     * delta 응답인 경우 baseVersion 이후 삭제(비활성화 포함)된 Action ID
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<Long> removedActionIds;
+
     @Data
     public static class QueueConfigActionResponse {
         private Long id;
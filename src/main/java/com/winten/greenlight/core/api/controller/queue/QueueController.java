@@ -19,6 +19,7 @@ import reactor.core.publisher.Mono;
 @RequiredArgsConstructor
 public class QueueController {
     private static final String GREENLIGHT_ID_HEADER = "X-GREENLIGHT-ID";
+    private static final String GREENLIGHT_TICKET_HEADER = "X-GREENLIGHT-TICKET";
     private final QueueService queueService;
     private final CustomerConverter customerConverter;
 
@@ -62,14 +63,37 @@ public class QueueController {
                 .map(customerConverter::toResponse);
     }
 
+    /**
+     * 대기열 이탈 API 엔드포인트입니다.
+     * 고객이 대기 페이지를 떠날 때 호출되어 WAITING(또는 READY) 대기열에서 제거합니다. 이미 대기열에 없더라도 성공으로 응답합니다.
+     * 페이지 종료 시 헤더를 지정할 수 없는 navigator.sendBeacon 으로도 호출할 수 있도록 customerId 파라미터도 받습니다.
+     *
+     * @param greenlightId (Optional) 고객이 보유한 대기열 ID
+     * @param customerId   (Optional) 헤더 대신 전달한 대기열 ID
+     * @return Mono<ResponseEntity<Void>> 204 No Content
+     */
+    @PostMapping("/api/v1/queue/leave")
+    public Mono<ResponseEntity<Void>> leaveQueue(
+            @RequestHeader(name = GREENLIGHT_ID_HEADER, required = false) String greenlightId,
+            @RequestParam(name = "customerId", required = false) String customerId
+    ) {
+        var targetId = greenlightId != null ? greenlightId : customerId;
+        if (targetId == null || targetId.isEmpty()) {
+            return Mono.error(new CoreException(ErrorType.BAD_REQUEST, "customerId is required."));
+        }
+        return queueService.leaveQueue(targetId)
+                .thenReturn(ResponseEntity.noContent().build());
+    }
+
     // 기존 CustomerController에 있던 API를 QueueController로 이관. 레거시 지원을 위해 기존 매핑 유지
     // TODO 지금은 ENTERED에 고객번호가 등록되어 있다면 무조건 입장 가능하게 만듬
     //  이후 FreePass 기능을 도입하려면, 세션 객체에 등록되어있는 고객 정보를 기준으로 입장을 제어해야함.
     @PostMapping(value={"/api/v1/customer/verify", "/api/v1/queue/verify"})
     public Mono<ResponseEntity<TicketVerificationResponse>> verifyTicket(
-            @RequestHeader(name = GREENLIGHT_ID_HEADER) String greenlightId
+            @RequestHeader(name = GREENLIGHT_ID_HEADER) String greenlightId,
+            @RequestHeader(name = GREENLIGHT_TICKET_HEADER, required = false) String greenlightTicket
     ) {
-        return queueService.verifyTicket(greenlightId)
+        return queueService.verifyTicket(greenlightId, greenlightTicket)
                     .map(ResponseEntity::ok);
     }
 
@@ -34,8 +34,7 @@ public class QueueSseController {
         }
         var actionId = CustomerUtil.parseActionIdFromCustomerId(customerId);
         return actionService.getActionById(actionId)   // Mono<Action>
-                .flatMapMany(action -> queueSseService.connect(action.getActionGroupId(), customerId)) // Flux<CustomerQueueInfo
-                .map(queueInfo -> ServerSentEvent.builder(queueInfo).build())
+                .flatMapMany(action -> queueSseService.connect(action.getActionGroupId(), customerId)) // Flux<ServerSentEvent<CustomerQueueInfo>>, 대기 상태 및 heartbeat
                 .onErrorResume(e -> { // unexpected
                     log.warn("Unexpected error", e);
                     return Flux.empty(); // close stream
@@ -18,6 +18,11 @@ public class TicketVerificationResponse {
     private Boolean verified;
     @JsonInclude(JsonInclude.Include.NON_NULL)
     private String reason;
+    /**
+     * 서명된 입장권 (greenlight.entry-ticket.enabled). 이후 검증 요청 시 X-GREENLIGHT-TICKET 헤더로 전달하면 Redis 조회 없이 검증됩니다.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String ticket;
 
     public static TicketVerificationResponse success(CustomerSession customerSession) {
         return TicketVerificationResponse.builder()
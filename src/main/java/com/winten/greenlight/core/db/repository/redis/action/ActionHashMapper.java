@@ -0,0 +1,89 @@
+package com.winten.greenlight.core.db.repository.redis.action;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.winten.greenlight.core.domain.action.Action;
+import com.winten.greenlight.core.domain.action.ActionGroup;
+import com.winten.greenlight.core.domain.action.ActionRule;
+import com.winten.greenlight.core.domain.action.ActionType;
+import com.winten.greenlight.core.domain.action.DefaultRuleType;
+import com.winten.greenlight.core.support.error.CoreException;
+import com.winten.greenlight.core.support.error.ErrorType;
+import com.winten.greenlight.core.support.util.RedisHashValues;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Action, ActionGroup hash(field, JSON 값 문자열)를 도메인 객체로 변환합니다.
+ * 필드를 하나씩 읽어 builder로 만듭니다.
+ * 중첩 객체인 actionRules 만 ObjectMapper로 읽으며, 알 수 없는 필드는 무시합니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ActionHashMapper {
+    private static final TypeReference<List<ActionRule>> ACTION_RULES_TYPE = new TypeReference<>() {};
+
+    private final ObjectMapper objectMapper;
+
+    public Action toAction(Map<String, String> hash) {
+        try {
+            return Action.builder()
+                    .id(RedisHashValues.toLong(hash.get("id")))
+                    .actionGroupId(RedisHashValues.toLong(hash.get("actionGroupId")))
+                    .ownerId(RedisHashValues.toString(hash.get("ownerId")))
+                    .name(RedisHashValues.toString(hash.get("name")))
+                    .enabled(Boolean.TRUE.equals(RedisHashValues.toBoolean(hash.get("enabled"))))
+                    .actionUrl(RedisHashValues.toString(hash.get("actionUrl")))
+                    .actionType(RedisHashValues.toEnum(ActionType.class, hash.get("actionType")))
+                    .landingId(RedisHashValues.toString(hash.get("landingId")))
+                    .landingStartAt(RedisHashValues.toDateTime(hash.get("landingStartAt")))
+                    .landingEndAt(RedisHashValues.toDateTime(hash.get("landingEndAt")))
+                    .landingDestinationUrl(RedisHashValues.toString(hash.get("landingDestinationUrl")))
+                    .defaultRuleType(RedisHashValues.toEnum(DefaultRuleType.class, hash.get("defaultRuleType")))
+                    .actionRules(toActionRules(hash.get("actionRules")))
+                    .createdBy(RedisHashValues.toString(hash.get("createdBy")))
+                    .createdAt(RedisHashValues.toDateTime(hash.get("createdAt")))
+                    .updatedBy(RedisHashValues.toString(hash.get("updatedBy")))
+                    .updatedAt(RedisHashValues.toDateTime(hash.get("updatedAt")))
+                    .build();
+        } catch (RuntimeException e) {
+            throw CoreException.of(ErrorType.JSON_CONVERT_ERROR, "Action 값을 변환할 수 없습니다. actionId: " + hash.get("id"));
+        }
+    }
+
+    public ActionGroup toActionGroup(Map<String, String> hash) {
+        try {
+            return ActionGroup.builder()
+                    .id(RedisHashValues.toLong(hash.get("id")))
+                    .ownerId(RedisHashValues.toString(hash.get("ownerId")))
+                    .name(RedisHashValues.toString(hash.get("name")))
+                    .description(RedisHashValues.toString(hash.get("description")))
+                    .maxTrafficPerSecond(RedisHashValues.toInteger(hash.get("maxTrafficPerSecond")))
+                    .enabled(RedisHashValues.toBoolean(hash.get("enabled")))
+                    .sseHeadPosition(RedisHashValues.toInteger(hash.get("sseHeadPosition")))
+                    .sseMaxRefreshSeconds(RedisHashValues.toInteger(hash.get("sseMaxRefreshSeconds")))
+                    .createdBy(RedisHashValues.toString(hash.get("createdBy")))
+                    .createdAt(RedisHashValues.toDateTime(hash.get("createdAt")))
+                    .updatedBy(RedisHashValues.toString(hash.get("updatedBy")))
+                    .updatedAt(RedisHashValues.toDateTime(hash.get("updatedAt")))
+                    .build();
+        } catch (RuntimeException e) {
+            throw CoreException.of(ErrorType.JSON_CONVERT_ERROR, "Action Group 값을 변환할 수 없습니다. actionGroupId: " + hash.get("id"));
+        }
+    }
+
+    private List<ActionRule> toActionRules(String raw) {
+        if (RedisHashValues.isNull(raw)) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(raw, ACTION_RULES_TYPE);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("invalid actionRules", e);
+        }
+    }
+}
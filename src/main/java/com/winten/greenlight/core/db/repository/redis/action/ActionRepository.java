@@ -2,21 +2,29 @@ package com.winten.greenlight.core.db.repository.redis.action;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.winten.greenlight.core.db.repository.redis.traffic.TrafficCounterRepository;
+import com.winten.greenlight.core.db.repository.redis.traffic.TrafficType;
+import com.winten.greenlight.core.db.repository.redis.traffic.VisitorCounterRepository;
 import com.winten.greenlight.core.domain.action.Action;
 import com.winten.greenlight.core.domain.action.ActionGroup;
+import com.winten.greenlight.core.domain.action.ConfigChangeEvent;
 import com.winten.greenlight.core.domain.customer.WaitStatus;
 import com.winten.greenlight.core.support.error.CoreException;
 import com.winten.greenlight.core.support.error.ErrorType;
 import com.winten.greenlight.core.support.util.RedisKeyBuilder;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 @Slf4j
 @Repository
@@ -26,8 +34,31 @@ public class ActionRepository {
     private final ReactiveRedisTemplate<String, Object> jsonRedisTemplate;
     private final RedisKeyBuilder keyBuilder;
     private final ObjectMapper objectMapper;
+    private final TrafficCounterRepository trafficCounterRepository;
+    private final VisitorCounterRepository visitorCounterRepository;
+    private final ActionHashMapper actionHashMapper;
 
     private static final String ACTION_KEY_PREFIX = "action:url:";
+    // 다른 노드가 인덱스를 만드는 동안 인덱스를 다시 확인하는 간격
+    private static final Duration INDEX_POLL_INTERVAL = Duration.ofMillis(100);
+
+    /**
+     * 전체 Action 적재 시 동시에 수행할 HGETALL 수
+     */
+    @Value("${greenlight.action-config.load-concurrency:32}")
+    private int loadConcurrency;
+
+    /**
+     * version 별 action id 인덱스 유지 시간. 모든 노드가 새 version을 적재할 동안만 유지되도록 action-snapshot.refresh-interval 의 몇 배로 설정
+     */
+    @Value("${greenlight.action-config.index-ttl:10s}")
+    private Duration indexTtl;
+
+    /**
+     * 인덱스를 만드는 노드 하나를 정하는 lock TTL, 다른 노드는 이 시간 동안 인덱스를 기다림
+     */
+    @Value("${greenlight.action-config.index-rebuild-lock-ttl:5s}")
+    private Duration indexRebuildLockTtl;
 
     public Mono<Action> findByUrl(String url) {
         String key = ACTION_KEY_PREFIX + url;
@@ -39,22 +70,28 @@ public class ActionRepository {
     public Mono<Action> getActionById(Long actionId) {
         String key = keyBuilder.action(actionId);
 
-        return jsonRedisTemplate.opsForHash().entries(key)
-                .collectMap(entry -> (String) entry.getKey(), Map.Entry::getValue)
-                .flatMap(map -> map.isEmpty()
-                        ? Mono.error(CoreException.of(ErrorType.ACTION_NOT_FOUND, "Action을 찾을 수 없습니다. actionId: " + actionId))
-                        : Mono.just(objectMapper.convertValue(map, Action.class))
-                );
+        return findHash(key)
+                .map(actionHashMapper::toAction)
+                .switchIfEmpty(Mono.error(CoreException.of(ErrorType.ACTION_NOT_FOUND, "Action을 찾을 수 없습니다. actionId: " + actionId)));
     }
 
     public Mono<ActionGroup> getActionGroupById(Long actionGroupId) {
-        String key = keyBuilder.actionGroupMeta(actionGroupId);
-        return jsonRedisTemplate.opsForHash().entries(key)
-                .collectMap(entry -> (String) entry.getKey(), Map.Entry::getValue)
-                .flatMap(map -> map.isEmpty()
-                        ? Mono.error(CoreException.of(ErrorType.ACTION_GROUP_NOT_FOUND, "Action Group을 찾을 수 없습니다. actionGroupId: " + actionGroupId))
-                        : Mono.just(objectMapper.convertValue(map, ActionGroup.class))
-                );
+        Mono<Map<String, String>> meta = findHash(keyBuilder.actionGroupMeta(actionGroupId));
+        if (keyBuilder.isLegacyDualRead()) { // 키 레이아웃 전환 중에는 이전 meta 키도 확인
+            meta = meta.switchIfEmpty(findHash(keyBuilder.legacy().actionGroupMeta(actionGroupId)));
+        }
+        return meta
+                .map(actionHashMapper::toActionGroup)
+                .switchIfEmpty(Mono.error(CoreException.of(ErrorType.ACTION_GROUP_NOT_FOUND, "Action Group을 찾을 수 없습니다. actionGroupId: " + actionGroupId)));
+    }
+
+    /**
+     * hash를 값 문자열 그대로 조회합니다. 값은 ActionHashMapper가 직접 변환하며, 키가 없다면 empty를 반환합니다.
+     */
+    private Mono<Map<String, String>> findHash(String key) {
+        return stringRedisTemplate.<String, String>opsForHash().entries(key)
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue)
+                .filter(map -> !map.isEmpty());
     }
 
     private Mono<Action> deserializeToAction(String json) {
@@ -65,27 +102,120 @@ public class ActionRepository {
         }
     }
 
+    /**
+     * 관리 서버가 발행하는 Action, ActionGroup 변경 알림을 구독합니다. 해석할 수 없는 메시지는 무시합니다.
+     */
+    public Flux<ConfigChangeEvent> listenConfigChanges() {
+        return stringRedisTemplate.listenToChannel(keyBuilder.configChangeChannel())
+                .flatMap(message -> {
+                    try {
+                        var event = objectMapper.readValue(message.getMessage(), ConfigChangeEvent.class);
+                        return event.target() != null && event.id() != null ? Mono.just(event) : Mono.empty();
+                    } catch (JsonProcessingException e) {
+                        log.warn("invalid config change message ignored. message: {}", message.getMessage());
+                        return Mono.empty();
+                    }
+                });
+    }
+
     public Mono<String> getCurrentActionVersion() {
         String key = keyBuilder.actionVersion();
         return stringRedisTemplate.opsForValue().get(key);
     }
 
-    private Flux<Action> getAllActionFlux() {
-        return stringRedisTemplate.keys(keyBuilder.allActions())
-                .flatMap(key -> jsonRedisTemplate.opsForHash().entries(key)
-                        .collectMap(entry -> (String) entry.getKey(), Map.Entry::getValue)
-                )
-                .map(map -> objectMapper.convertValue(map, Action.class));
+    /**
+     * 현재 version의 전체 Action을 조회합니다.
+     */
+    public Mono<List<Action>> getAllActions() {
+        return getCurrentActionVersion()
+                .flatMap(this::getAllActions)
+                .switchIfEmpty(Mono.defer(() -> scanActionIds().flatMap(this::loadActions)));
     }
 
-    public Mono<List<Action>> getAllActions() {
-        return getAllActionFlux()
-                .collectList();
+    /**
+     * 지정한 version의 action id 인덱스로 전체 Action을 조회합니다.
+     * 인덱스가 없다면 lock을 얻은 노드 하나가 SCAN으로 action 키를 찾아 인덱스를 만들므로, version 하나당 클러스터 전체에서 한 번만 키를 훑습니다.
+     * 인덱스 생성 이후 삭제된 Action은 결과에서 제외됩니다.
+     */
+    public Mono<List<Action>> getAllActions(String version) {
+        return findActionIds(version)
+                .flatMap(this::loadActions);
     }
 
     public Mono<List<Action>> getAllEnabledActions() {
-        return getAllActionFlux()
-                .filter(Action::isEnabled)
+        return getAllActions()
+                .map(actions -> actions.stream().filter(Action::isEnabled).toList());
+    }
+
+    public Mono<List<Action>> getAllEnabledActions(String version) {
+        return getAllActions(version)
+                .map(actions -> actions.stream().filter(Action::isEnabled).toList());
+    }
+
+    private Mono<List<Long>> findActionIds(String version) {
+        var key = keyBuilder.actionIndex(version);
+        return readActionIndex(key)
+                .switchIfEmpty(Mono.defer(() -> rebuildActionIndex(version, key)));
+    }
+
+    private Mono<List<Long>> readActionIndex(String key) {
+        return stringRedisTemplate.opsForSet().members(key)
+                .map(Long::valueOf)
+                .sort()
+                .collectList()
+                .filter(actionIds -> !actionIds.isEmpty());
+    }
+
+    /**
+     * 인덱스를 만듭니다. lock을 얻은 노드 하나만 SCAN 하고, 나머지 노드는 그 노드가 만든 인덱스를 기다립니다.
+     * lock TTL 안에 인덱스가 만들어지지 않았다면 (만들던 노드 종료 등) 직접 SCAN 한 결과를 저장하지 않고 사용합니다.
+     */
+    private Mono<List<Long>> rebuildActionIndex(String version, String key) {
+        long maxPolls = Math.max(1L, indexRebuildLockTtl.toMillis() / INDEX_POLL_INTERVAL.toMillis());
+        return stringRedisTemplate.opsForValue().setIfAbsent(keyBuilder.actionIndexLock(version), "1", indexRebuildLockTtl)
+                .flatMap(acquired -> acquired
+                        ? scanActionIds().flatMap(actionIds -> saveActionIndex(version, key, actionIds))
+                        : readActionIndex(key)
+                                .repeatWhenEmpty((int) maxPolls, attempts -> attempts.delayElements(INDEX_POLL_INTERVAL))
+                                .switchIfEmpty(Mono.defer(this::scanActionIds)));
+    }
+
+    /**
+     * SCAN 하는 동안 version이 바뀌지 않았을 때만 인덱스를 저장합니다. 바뀌었다면 조회 결과만 사용하고 다음 version에서 다시 만듭니다.
+     */
+    private Mono<List<Long>> saveActionIndex(String version, String key, List<Long> actionIds) {
+        if (actionIds.isEmpty()) {
+            return Mono.just(actionIds);
+        }
+        var members = actionIds.stream().map(String::valueOf).toArray(String[]::new);
+        return getCurrentActionVersion()
+                .filter(version::equals)
+                .flatMap(current -> stringRedisTemplate.opsForSet().add(key, members)
+                        .then(stringRedisTemplate.expire(key, indexTtl))
+                        .doOnNext(expired -> log.info("action index rebuilt. key: {}, actions: {}", key, actionIds.size())))
+                .thenReturn(actionIds)
+                .onErrorResume(e -> { // 인덱스 저장에 실패해도 조회 결과는 사용
+                    log.warn("failed to save action index. key: {}", key, e);
+                    return Mono.just(actionIds);
+                });
+    }
+
+    /**
+     * KEYS 대신 SCAN으로 action 키를 찾습니다. 각 노드를 나누어 훑으므로 Redis를 오래 점유하지 않습니다.
+     */
+    private Mono<List<Long>> scanActionIds() {
+        return stringRedisTemplate.scan(ScanOptions.scanOptions().match(keyBuilder.allActions()).count(1000).build())
+                .map(keyBuilder::parseActionId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .sort()
+                .collectList();
+    }
+
+    private Mono<List<Action>> loadActions(List<Long> actionIds) {
+        return Flux.fromIterable(actionIds)
+                .flatMapSequential(actionId -> findHash(keyBuilder.action(actionId)), loadConcurrency)
+                .map(actionHashMapper::toAction)
                 .collectList();
     }
 
@@ -94,30 +224,55 @@ public class ActionRepository {
         return stringRedisTemplate.opsForValue().get(key);
     }
 
+    /**
+     * 활성사용자수 계산을 위한 진입 요청 기록. 초 단위 카운터 버킷에 집계됩니다.
+     */
     public Mono<Boolean> putRequestLog(Long actionGroupId, String customerId) {
-        var key = keyBuilder.actionGroupRequestLog(actionGroupId);
-        var time = System.currentTimeMillis();
-        return stringRedisTemplate.opsForZSet().add(key, customerId + time, time);
+        return trafficCounterRepository.increment(actionGroupId, TrafficType.REQUEST)
+                .map(count -> count > 0);
     }
 
+    /**
+     * 입장 기록. 초 단위 카운터 버킷에 집계됩니다.
+     */
     public Mono<Boolean> putAccessLog(Long actionGroupId, String customerId) {
-        var key = keyBuilder.actionGroupAccessLog(actionGroupId);
-        var time = System.currentTimeMillis();
-        return stringRedisTemplate.opsForZSet().add(key, customerId + time, time);
+        return trafficCounterRepository.increment(actionGroupId, TrafficType.ACCESS)
+                .map(count -> count > 0);
     }
 
     public Mono<Long> getWaitingCountByActionGroupId(Long actionGroupId) {
         var key = keyBuilder.queue(actionGroupId, WaitStatus.WAITING);
-        return stringRedisTemplate.opsForZSet().size(key);
+        Mono<Long> waitingCount = stringRedisTemplate.opsForZSet().size(key);
+        if (keyBuilder.isLegacyDualRead()) { // 이전 WAITING 대기열에 남아있는 고객도 대기고객으로 본다
+            var legacyKey = keyBuilder.legacy().queue(actionGroupId, WaitStatus.WAITING);
+            return Mono.zip(waitingCount, stringRedisTemplate.opsForZSet().size(legacyKey))
+                    .map(tuple -> tuple.getT1() + tuple.getT2());
+        }
+        return waitingCount;
     }
 
-    public Mono<Boolean> putSession(String uniqueId) {
+    /**
+     * 5분 동시접속자 수 계산을 위한 방문 기록.
+     * greenlight.concurrent-user.store 가 HLL 이라면 ActionGroup별 분 단위 HyperLogLog에, ZSET 이라면 전체 공용 {prefix}:session ZSET에 기록합니다.
+     */
+    public Mono<Boolean> putSession(Long actionGroupId, String uniqueId) {
+        if (visitorCounterRepository.isEnabled()) {
+            return visitorCounterRepository.record(actionGroupId, uniqueId);
+        }
         var key = keyBuilder.actionGroupSession();
         return stringRedisTemplate.opsForZSet().add(key, uniqueId, System.currentTimeMillis());
     }
 
     public Mono<Integer> getMaxTrafficPerSecond(Long actionGroupId) {
-        var key = keyBuilder.actionGroupMeta(actionGroupId);
+        Mono<Integer> maxTrafficPerSecond = getMaxTrafficPerSecond(keyBuilder, actionGroupId);
+        if (keyBuilder.isLegacyDualRead()) {
+            return maxTrafficPerSecond.switchIfEmpty(getMaxTrafficPerSecond(keyBuilder.legacy(), actionGroupId));
+        }
+        return maxTrafficPerSecond;
+    }
+
+    private Mono<Integer> getMaxTrafficPerSecond(RedisKeyBuilder builder, Long actionGroupId) {
+        var key = builder.actionGroupMeta(actionGroupId);
         return jsonRedisTemplate.opsForHash().get(key, "maxTrafficPerSecond")
                 .map(s -> (Integer) s);
     }
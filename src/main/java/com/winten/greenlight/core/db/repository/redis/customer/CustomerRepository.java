@@ -1,7 +1,8 @@
 package com.winten.greenlight.core.db.repository.redis.customer;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.winten.greenlight.core.db.repository.redis.traffic.TrafficCounterRepository;
+import com.winten.greenlight.core.db.repository.redis.traffic.TrafficType;
+import com.winten.greenlight.core.db.repository.redis.traffic.VisitorCounterRepository;
 import com.winten.greenlight.core.domain.customer.CustomerSession;
 import com.winten.greenlight.core.domain.customer.WaitStatus;
 import com.winten.greenlight.core.support.error.CoreException;
@@ -9,21 +10,32 @@ import com.winten.greenlight.core.support.error.ErrorType;
 import com.winten.greenlight.core.support.util.RedisKeyBuilder;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.Range;
 import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Slf4j
 @Repository
 @RequiredArgsConstructor
 public class CustomerRepository {
+    private static final RedisScript<List> VERIFY_SCRIPT = RedisScript.of(new ClassPathResource("redis/scripts/queue-verify.lua"), List.class);
+
     private final ReactiveRedisTemplate<String, String> stringRedisTemplate;
     private final ReactiveRedisTemplate<String, Object> jsonRedisTemplate;
     private final RedisKeyBuilder keyBuilder;
-    private final ObjectMapper objectMapper;
+    private final TrafficCounterRepository trafficCounterRepository;
+    private final CustomerSessionCodec sessionCodec;
+    private final VisitorCounterRepository visitorCounterRepository;
 
     public Mono<Boolean> enqueueCustomer(CustomerSession customerSession, WaitStatus waitStatus) {
         String key = keyBuilder.queue(customerSession.getActionGroupId(), waitStatus);
@@ -36,52 +48,137 @@ public class CustomerRepository {
      */
     public Mono<Boolean> deleteCustomer(Long actionGroupId, String customerId, WaitStatus waitStatus) {
         String key = keyBuilder.queue(actionGroupId, waitStatus);
-        return stringRedisTemplate.opsForZSet().remove(key, customerId)
-                .map(count -> count > 0);
+        Mono<Long> removed = stringRedisTemplate.opsForZSet().remove(key, customerId);
+        if (keyBuilder.isLegacyDualRead()) { // 키 레이아웃 전환 중에는 이전 대기열에서도 삭제
+            removed = Mono.zip(removed, stringRedisTemplate.opsForZSet().remove(keyBuilder.legacy().queue(actionGroupId, waitStatus), customerId))
+                    .map(tuple -> tuple.getT1() + tuple.getT2());
+        }
+        return removed.map(count -> count > 0);
     }
 
     public Mono<Boolean> isCustomerReady(Long actionGroupId, String customerId) {
-        String key = keyBuilder.queue(actionGroupId, WaitStatus.READY);
+        Mono<Boolean> ready = isCustomerReady(keyBuilder, actionGroupId, customerId);
+        if (keyBuilder.isLegacyDualRead()) { // 키 레이아웃 전환 중에는 이전 READY 대기열도 확인
+            return ready.switchIfEmpty(isCustomerReady(keyBuilder.legacy(), actionGroupId, customerId));
+        }
+        return ready;
+    }
+
+    private Mono<Boolean> isCustomerReady(RedisKeyBuilder builder, Long actionGroupId, String customerId) {
+        String key = builder.queue(actionGroupId, WaitStatus.READY);
         return stringRedisTemplate.opsForZSet().rank(key, customerId)
                 .map(rank -> rank >= 0);
     }
 
     public Mono<Boolean> saveCustomerSession(CustomerSession session, Duration ttl) {
-        String key = keyBuilder.customerSession(session.getCustomerId());
-        Map<String, Object> map = objectMapper.convertValue(session, new TypeReference<>() {}); // DTO to Map 변환
-        return jsonRedisTemplate.opsForHash().putAll(key, map)
-                .then(jsonRedisTemplate.expire(key, ttl));
+        String key = keyBuilder.customerSession(session.getActionGroupId(), session.getCustomerId());
+        return stringRedisTemplate.opsForHash().putAll(key, sessionCodec.encode(session)) // greenlight.customer-session.format 형식으로 저장
+                .then(stringRedisTemplate.expire(key, ttl));
     }
 
-    public Mono<CustomerSession> getCustomerSessionById(String customerId) {
-        String key = keyBuilder.customerSession(customerId);
-        return jsonRedisTemplate.opsForHash()
+    public Mono<CustomerSession> getCustomerSessionById(Long actionGroupId, String customerId) {
+        String key = keyBuilder.customerSession(actionGroupId, customerId);
+        Mono<Map<String, String>> session = findSessionHash(key);
+        if (keyBuilder.isLegacyDualRead()) { // 키 레이아웃 전환 중에는 이전 세션을 읽어 새 키로 옮겨둔다 (이후 필드 단위 갱신은 새 키에만 수행)
+            String legacyKey = keyBuilder.legacy().customerSession(actionGroupId, customerId);
+            session = session.switchIfEmpty(findSessionHash(legacyKey)
+                    .flatMap(map -> copySessionHash(legacyKey, key, map).thenReturn(map)));
+        }
+        return session
+                .map(sessionCodec::decode)
+                .switchIfEmpty(Mono.error(CoreException.of(ErrorType.CUSTOMER_NOT_FOUND, "Customer session을 찾을 수 없습니다. customerId: " + customerId)));
+    }
+
+    // 값은 저장된 문자열 그대로 읽고, 형식(JSON, PACKED) 판단과 변환은 sessionCodec 에서 수행
+    private Mono<Map<String, String>> findSessionHash(String key) {
+        return stringRedisTemplate.<String, String>opsForHash()
                 .entries(key)
-                .collectMap(entry -> (String) entry.getKey(), Map.Entry::getValue)
-                .flatMap(map -> map.isEmpty()
-                        ? Mono.error(CoreException.of(ErrorType.CUSTOMER_NOT_FOUND, "Customer session을 찾을 수 없습니다. customerId: " + customerId))
-                        : Mono.just(objectMapper.convertValue(map, CustomerSession.class))
-                );
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue)
+                .filter(map -> !map.isEmpty());
+    }
+
+    private Mono<Boolean> copySessionHash(String fromKey, String toKey, Map<String, String> map) {
+        return stringRedisTemplate.getExpire(fromKey)
+                .filter(ttl -> !ttl.isNegative() && !ttl.isZero())
+                .defaultIfEmpty(Duration.ofMinutes(5))
+                .flatMap(ttl -> stringRedisTemplate.opsForHash().putAll(toKey, map)
+                        .then(stringRedisTemplate.expire(toKey, ttl)));
+    }
+
+    /**
+     * 입장권을 검증하고, READY 고객이라면 ENTERED로 전환합니다.
+     * 세션 조회, verified/accessCount 갱신, READY 삭제, ENTERED 추가, 입장 및 방문 기록을 서버 측 스크립트에서 원자적으로 수행하므로
+     * 한 번의 호출로 끝나며, 항상 master에서 실행되어 replica 지연의 영향을 받지 않습니다.
+     * 스크립트가 사용하는 키는 모두 같은 cluster slot에 있어야 합니다.
+     *
+     * @param now 입장 시간 (ENTERED 대기열 score)
+     * @return Mono<CustomerVerification> 검증 결과와 전환 이전의 세션
+     */
+    public Mono<CustomerVerification> verifyAndEnter(Long actionGroupId, String customerId, long now) {
+        var keys = new ArrayList<String>(5);
+        keys.add(keyBuilder.customerSession(actionGroupId, customerId));
+        keys.add(keyBuilder.queue(actionGroupId, WaitStatus.READY));
+        keys.add(keyBuilder.queue(actionGroupId, WaitStatus.ENTERED));
+        keys.add(trafficCounterRepository.currentBucketKey(actionGroupId, TrafficType.ACCESS));
+        if (visitorCounterRepository.isEnabled()) { // 5분 동시접속자 수 계산을 위한 방문 기록도 같은 호출에서 처리
+            keys.add(visitorCounterRepository.currentKey(actionGroupId));
+        }
+        var args = List.of(customerId, String.valueOf(now), "true", String.valueOf(trafficCounterRepository.bucketTtlSeconds()),
+                String.valueOf(visitorCounterRepository.isEnabled() ? visitorCounterRepository.ttlSeconds() : 0L));
+        return stringRedisTemplate.execute(VERIFY_SCRIPT, keys, args)
+                .next()
+                .map(result -> {
+                    var decision = CustomerVerification.Decision.valueOf(String.valueOf(result.get(0)));
+                    var session = result.size() > 1 ? decodeSession(result) : null;
+                    return new CustomerVerification(decision, session);
+                });
+    }
+
+    // HGETALL 결과 (field, value 반복)를 세션으로 변환. 값의 형식(JSON, PACKED)은 sessionCodec 에서 판단
+    private CustomerSession decodeSession(List<?> result) {
+        Map<String, String> hash = new HashMap<>();
+        for (int i = 1; i + 1 < result.size(); i += 2) {
+            hash.put(String.valueOf(result.get(i)), String.valueOf(result.get(i + 1)));
+        }
+        return sessionCodec.decode(hash);
+    }
+
+    /**
+     * 입장권 취소 기록. score는 취소 기록이 필요한 시간(입장권 최대 만료 시간, epoch millis)입니다.
+     */
+    public Mono<Boolean> revokeEntryTicket(String customerId, long expiresAt) {
+        return stringRedisTemplate.opsForZSet().add(keyBuilder.revokedEntryTickets(), customerId, expiresAt);
+    }
+
+    /**
+     * 아직 유효한 입장권 취소 기록을 조회합니다. 만료된 기록은 함께 정리합니다.
+     */
+    public Flux<String> findRevokedEntryTickets() {
+        var key = keyBuilder.revokedEntryTickets();
+        var now = System.currentTimeMillis();
+        return stringRedisTemplate.opsForZSet().removeRangeByScore(key, Range.closed(Double.NEGATIVE_INFINITY, (double) now))
+                .thenMany(stringRedisTemplate.opsForZSet().rangeByScore(key, Range.closed((double) now, Double.POSITIVE_INFINITY)));
     }
 
-    public Mono<Boolean> findCustomerVerifiedFromSession(String customerId) {
-        String key = keyBuilder.customerSession(customerId);
-        return jsonRedisTemplate.opsForHash().get(key, "verified")
-                .map(obj -> Boolean.valueOf(String.valueOf(obj)));
+    // verified, accessCount 는 세션 형식과 관계없이 같은 값("true", 숫자)으로 저장되어 필드 단위로 읽고 갱신
+    public Mono<Boolean> findCustomerVerifiedFromSession(Long actionGroupId, String customerId) {
+        String key = keyBuilder.customerSession(actionGroupId, customerId);
+        return stringRedisTemplate.<String, String>opsForHash().get(key, CustomerSessionCodec.VERIFIED_FIELD)
+                .map(Boolean::valueOf);
     }
 
-    public Mono<Boolean> updateSessionVerified(String customerId, boolean verified) {
-        String key = keyBuilder.customerSession(customerId);
-        return jsonRedisTemplate.opsForHash().put(key, "verified", verified);
+    public Mono<Boolean> updateSessionVerified(Long actionGroupId, String customerId, boolean verified) {
+        String key = keyBuilder.customerSession(actionGroupId, customerId);
+        return stringRedisTemplate.opsForHash().put(key, CustomerSessionCodec.VERIFIED_FIELD, String.valueOf(verified));
     }
 
-    public Mono<Long> increaseSessionAccessCount(String customerId, Long amount) {
-        String key = keyBuilder.customerSession(customerId);
-        return jsonRedisTemplate.opsForHash().increment(key, "accessCount", 1L);
+    public Mono<Long> increaseSessionAccessCount(Long actionGroupId, String customerId, Long amount) {
+        String key = keyBuilder.customerSession(actionGroupId, customerId);
+        return stringRedisTemplate.opsForHash().increment(key, CustomerSessionCodec.ACCESS_COUNT_FIELD, 1L);
     }
 
-    public Mono<Long> deleteCustomerSession(String customerId) {
-        String key = keyBuilder.customerSession(customerId);
+    public Mono<Long> deleteCustomerSession(Long actionGroupId, String customerId) {
+        String key = keyBuilder.customerSession(actionGroupId, customerId);
         return jsonRedisTemplate.opsForHash().remove(key, customerId);
     }
-}
\ No newline at end of file
+}
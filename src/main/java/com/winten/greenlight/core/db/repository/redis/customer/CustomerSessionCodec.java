@@ -0,0 +1,159 @@
+package com.winten.greenlight.core.db.repository.redis.customer;
+
+import com.winten.greenlight.core.domain.customer.CustomerSession;
+import com.winten.greenlight.core.domain.customer.WaitStatus;
+import com.winten.greenlight.core.support.error.CoreException;
+import com.winten.greenlight.core.support.error.ErrorType;
+import com.winten.greenlight.core.support.util.RedisHashValues;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 고객 세션과 Redis hash(field, value 문자열) 사이의 변환을 담당합니다.
+ * 쓰기는 greenlight.customer-session.format 형식을 따르고, 읽기는 packed 필드(p) 유무로 형식을 판단하므로 두 형식을 모두 읽을 수 있습니다.
+ * verified, accessCount 는 두 형식 모두 같은 값("true", 숫자)으로 저장되어 형식과 관계없이 HSET, HINCRBY 로 필드 단위 갱신이 가능합니다.
+ */
+@Component
+public class CustomerSessionCodec {
+    static final String PACKED_FIELD = "p";
+    static final String WAIT_STATUS_FIELD = "waitStatus";
+    static final String TICKET_NO_FIELD = "ticketNo";
+    static final String VERIFIED_FIELD = "verified";
+    static final String ACCESS_COUNT_FIELD = "accessCount";
+
+    private static final String PACKED_VERSION = "1";
+    private static final char SEPARATOR = '|';
+    // version, actionGroupId, actionId, customerId, timestamp, waitTimeMs, landingStartAt, landingEndAt, destinationUrl
+    private static final int PACKED_TOKENS = 9;
+
+    @Value("${greenlight.customer-session.format:JSON}")
+    private CustomerSessionFormat format;
+
+    /**
+     * 세션을 hash field, value 로 변환합니다. null 값은 빈 문자열로 저장됩니다.
+     */
+    public Map<String, String> encode(CustomerSession session) {
+        if (format == CustomerSessionFormat.PACKED) {
+            var hash = new LinkedHashMap<String, String>(8);
+            hash.put(PACKED_FIELD, pack(session));
+            hash.put(WAIT_STATUS_FIELD, encodeWaitStatus(session.getWaitStatus()));
+            hash.put(TICKET_NO_FIELD, plain(session.getTicketNo()));
+            hash.put(VERIFIED_FIELD, String.valueOf(session.isVerified()));
+            hash.put(ACCESS_COUNT_FIELD, plain(session.getAccessCount()));
+            return hash;
+        }
+        var hash = new LinkedHashMap<String, String>(16);
+        hash.put("actionGroupId", RedisHashValues.fromNumber(session.getActionGroupId()));
+        hash.put("actionId", RedisHashValues.fromNumber(session.getActionId()));
+        hash.put("customerId", RedisHashValues.fromString(session.getCustomerId()));
+        hash.put("timestamp", RedisHashValues.fromNumber(session.getTimestamp()));
+        hash.put(WAIT_STATUS_FIELD, RedisHashValues.fromEnum(session.getWaitStatus()));
+        hash.put(VERIFIED_FIELD, String.valueOf(session.isVerified()));
+        hash.put(ACCESS_COUNT_FIELD, RedisHashValues.fromNumber(session.getAccessCount()));
+        hash.put("destinationUrl", RedisHashValues.fromString(session.getDestinationUrl()));
+        hash.put("waitTimeMs", RedisHashValues.fromNumber(session.getWaitTimeMs()));
+        hash.put(TICKET_NO_FIELD, RedisHashValues.fromNumber(session.getTicketNo()));
+        hash.put("landingStartAt", RedisHashValues.fromDateTime(session.getLandingStartAt()));
+        hash.put("landingEndAt", RedisHashValues.fromDateTime(session.getLandingEndAt()));
+        hash.put(PACKED_FIELD, ""); // PACKED 형식으로 저장된 적이 있는 세션을 덮어쓰는 경우 이전 packed 값을 무효화
+        return hash;
+    }
+
+    /**
+     * 스크립트에서 waitStatus 필드를 기록할 때 사용할 값
+     */
+    public String encodeWaitStatus(WaitStatus waitStatus) {
+        if (waitStatus == null) {
+            return "";
+        }
+        return format == CustomerSessionFormat.PACKED ? waitStatus.name() : RedisHashValues.fromEnum(waitStatus);
+    }
+
+    /**
+     * hash를 세션으로 변환합니다. packed 필드가 있다면 PACKED, 없다면 JSON 형식으로 읽습니다.
+     *
+     * @param hash 필드가 하나 이상 있는 세션 hash
+     */
+    public CustomerSession decode(Map<String, String> hash) {
+        var packed = hash.get(PACKED_FIELD);
+        if (packed != null && !packed.isEmpty()) {
+            return unpack(packed, hash);
+        }
+        try {
+            return CustomerSession.builder()
+                    .actionGroupId(RedisHashValues.toLong(hash.get("actionGroupId")))
+                    .actionId(RedisHashValues.toLong(hash.get("actionId")))
+                    .customerId(RedisHashValues.toString(hash.get("customerId")))
+                    .timestamp(RedisHashValues.toLong(hash.get("timestamp")))
+                    .waitStatus(RedisHashValues.toEnum(WaitStatus.class, hash.get(WAIT_STATUS_FIELD)))
+                    .verified(Boolean.TRUE.equals(RedisHashValues.toBoolean(hash.get(VERIFIED_FIELD))))
+                    .accessCount(RedisHashValues.toLong(hash.get(ACCESS_COUNT_FIELD)))
+                    .destinationUrl(RedisHashValues.toString(hash.get("destinationUrl")))
+                    .waitTimeMs(RedisHashValues.toLong(hash.get("waitTimeMs")))
+                    .ticketNo(RedisHashValues.toLong(hash.get(TICKET_NO_FIELD)))
+                    .landingStartAt(RedisHashValues.toDateTime(hash.get("landingStartAt")))
+                    .landingEndAt(RedisHashValues.toDateTime(hash.get("landingEndAt")))
+                    .build();
+        } catch (RuntimeException e) {
+            throw CoreException.of(ErrorType.JSON_CONVERT_ERROR, "세션 값을 변환할 수 없습니다. customerId: " + hash.get("customerId"));
+        }
+    }
+
+    private String pack(CustomerSession session) {
+        var builder = new StringBuilder(128)
+                .append(PACKED_VERSION).append(SEPARATOR)
+                .append(plain(session.getActionGroupId())).append(SEPARATOR)
+                .append(plain(session.getActionId())).append(SEPARATOR)
+                .append(plain(session.getCustomerId())).append(SEPARATOR)
+                .append(plain(session.getTimestamp())).append(SEPARATOR)
+                .append(plain(session.getWaitTimeMs())).append(SEPARATOR)
+                .append(plain(session.getLandingStartAt())).append(SEPARATOR)
+                .append(plain(session.getLandingEndAt())).append(SEPARATOR);
+        if (session.getDestinationUrl() != null) { // 구분자가 포함될 수 있는 값은 마지막에 두어 이스케이프 없이 저장
+            builder.append(session.getDestinationUrl());
+        }
+        return builder.toString();
+    }
+
+    private CustomerSession unpack(String packed, Map<String, String> hash) {
+        var tokens = new String[PACKED_TOKENS];
+        int from = 0;
+        for (int i = 0; i < PACKED_TOKENS - 1; i++) {
+            int to = packed.indexOf(SEPARATOR, from);
+            if (to < 0) {
+                throw CoreException.of(ErrorType.JSON_CONVERT_ERROR, "세션 값을 변환할 수 없습니다. packed: " + packed);
+            }
+            tokens[i] = packed.substring(from, to);
+            from = to + 1;
+        }
+        tokens[PACKED_TOKENS - 1] = packed.substring(from);
+        if (!PACKED_VERSION.equals(tokens[0])) {
+            throw CoreException.of(ErrorType.JSON_CONVERT_ERROR, "지원하지 않는 세션 형식입니다. version: " + tokens[0]);
+        }
+        return CustomerSession.builder()
+                .actionGroupId(RedisHashValues.toLong(tokens[1]))
+                .actionId(RedisHashValues.toLong(tokens[2]))
+                .customerId(emptyToNull(tokens[3]))
+                .timestamp(RedisHashValues.toLong(tokens[4]))
+                .waitTimeMs(RedisHashValues.toLong(tokens[5]))
+                .landingStartAt(RedisHashValues.toDateTime(tokens[6]))
+                .landingEndAt(RedisHashValues.toDateTime(tokens[7]))
+                .destinationUrl(emptyToNull(tokens[8]))
+                .waitStatus(RedisHashValues.toEnum(WaitStatus.class, hash.get(WAIT_STATUS_FIELD)))
+                .ticketNo(RedisHashValues.toLong(hash.get(TICKET_NO_FIELD)))
+                .verified(Boolean.parseBoolean(hash.get(VERIFIED_FIELD)))
+                .accessCount(RedisHashValues.toLong(hash.get(ACCESS_COUNT_FIELD)))
+                .build();
+    }
+
+    private static String plain(Object value) {
+        return value != null ? value.toString() : "";
+    }
+
+    private static String emptyToNull(String value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
+}
@@ -0,0 +1,18 @@
+package com.winten.greenlight.core.db.repository.redis.customer;
+
+/**
+ * 고객 세션 hash 저장 형식입니다. (greenlight.customer-session.format)
+ * 조회 시에는 형식과 관계없이 두 형식을 모두 읽을 수 있으므로, 모든 노드에 배포한 뒤 쓰기 형식을 전환합니다.
+ */
+public enum CustomerSessionFormat {
+    /**
+     * 필드마다 JSON 값으로 저장 (jsonRedisTemplate 형식, 이전 방식)
+     */
+    JSON,
+
+    /**
+     * 변경되지 않는 필드를 하나의 필드(p)에 구분자로 이어 저장하고,
+     * 필드 단위로 갱신되는 waitStatus, ticketNo, verified, accessCount 만 따로 저장
+     */
+    PACKED
+}
@@ -0,0 +1,31 @@
+package com.winten.greenlight.core.db.repository.redis.customer;
+
+import com.winten.greenlight.core.domain.customer.CustomerSession;
+
+/**
+ * 입장권 검증 스크립트의 결과입니다.
+ *
+ * @param decision 검증 결과
+ * @param session  전환 이전의 고객 세션, 세션이 없다면 null
+ */
+public record CustomerVerification(Decision decision, CustomerSession session) {
+
+    public enum Decision {
+        /**
+         * READY 고객을 ENTERED로 전환함
+         */
+        ENTERED,
+        /**
+         * 이미 입장했던 고객
+         */
+        ALREADY_VERIFIED,
+        /**
+         * 대기가 완료되지 않은 고객
+         */
+        NOT_READY,
+        /**
+         * 세션이 없는 고객
+         */
+        NOT_FOUND
+    }
+}
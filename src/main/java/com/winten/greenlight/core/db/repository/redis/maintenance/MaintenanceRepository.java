@@ -0,0 +1,50 @@
+package com.winten.greenlight.core.db.repository.redis.maintenance;
+
+import com.winten.greenlight.core.support.util.RedisKeyBuilder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 계속 늘어나는 Redis 키(ENTERED 대기열, 동시접속자 세션, 접속 기록)를 정리하는 Repository 클래스입니다.
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class MaintenanceRepository {
+    private static final RedisScript<List> TRIM_SCRIPT = RedisScript.of(new ClassPathResource("redis/scripts/maintenance-trim.lua"), List.class);
+
+    private final ReactiveRedisTemplate<String, String> redisTemplate;
+    private final RedisKeyBuilder keyBuilder;
+
+    /**
+     * 키의 정리 lock을 획득(또는 연장)하고, lock을 보유했다면 score가 maxScore 이하인 멤버를 오래된 순서로 limit 개까지 제거합니다.
+     *
+     * @param key      정리할 ZSET 키 (score = epoch millis)
+     * @param nodeId   lock 소유자로 기록할 노드 ID
+     * @param lockTtl  lock TTL, 정리 노드가 종료되면 이 시간 이후 다른 노드가 이어받음
+     * @param maxScore 이 score 이하의 멤버 제거
+     * @param limit    한 번에 제거할 최대 멤버 수
+     * @return Mono<TrimResult> lock 보유 여부, 제거한 멤버 수, 남은 제거 대상 멤버 수
+     */
+    public Mono<TrimResult> trimByScore(String key, String nodeId, Duration lockTtl, long maxScore, int limit) {
+        var keys = List.of(keyBuilder.maintenanceLock(key), key);
+        var args = List.of(nodeId, String.valueOf(lockTtl.toMillis()), String.valueOf(maxScore), String.valueOf(limit));
+        return redisTemplate.execute(TRIM_SCRIPT, keys, args)
+                .next()
+                .map(result -> {
+                    long removed = ((Number) result.get(0)).longValue();
+                    if (removed < 0) {
+                        return TrimResult.notOwner();
+                    }
+                    return new TrimResult(true, removed, ((Number) result.get(1)).longValue());
+                });
+    }
+}
@@ -0,0 +1,16 @@
+package com.winten.greenlight.core.db.repository.redis.maintenance;
+
+/**
+ * 오래된 멤버 정리 스크립트의 결과입니다.
+ *
+ * @param owner     이 노드가 해당 키의 정리 lock을 보유했다면 true, 아니라면 정리하지 않음
+ * @param removed   제거한 멤버 수
+ * @param remaining 아직 남은 제거 대상 멤버 수
+ */
+public record TrimResult(boolean owner, long removed, long remaining) {
+    private static final TrimResult NOT_OWNER = new TrimResult(false, 0L, 0L);
+
+    public static TrimResult notOwner() {
+        return NOT_OWNER;
+    }
+}
@@ -0,0 +1,13 @@
+package com.winten.greenlight.core.db.repository.redis.queue;
+
+import java.util.List;
+
+/**
+ * WAITING 대기열에서 READY 대기열로 옮겨진 고객 알림입니다.
+ * 채널에는 "actionGroupId customerId1 customerId2 ..." 형식의 문자열로 발행됩니다.
+ *
+ * @param actionGroupId 고객들이 속한 ActionGroup의 ID
+ * @param customerIds   READY 대기열로 옮겨진 고객 ID 목록
+ */
+public record AdmissionNotification(Long actionGroupId, List<String> customerIds) {
+}
@@ -0,0 +1,18 @@
+package com.winten.greenlight.core.db.repository.redis.queue;
+
+import java.util.List;
+
+/**
+ * 입장 처리(WAITING -> READY) 스크립트의 결과입니다.
+ *
+ * @param leader               이 노드가 ActionGroup의 리더라면 true, 아니라면 입장 처리를 하지 않음
+ * @param waitingCount         입장 처리 후 남은 WAITING 고객 수
+ * @param admittedCustomerIds  READY로 옮긴 고객 ID 목록 (대기 순서)
+ */
+public record AdmissionResult(boolean leader, long waitingCount, List<String> admittedCustomerIds) {
+    private static final AdmissionResult NOT_LEADER = new AdmissionResult(false, 0L, List.of());
+
+    public static AdmissionResult notLeader() {
+        return NOT_LEADER;
+    }
+}
@@ -0,0 +1,12 @@
+package com.winten.greenlight.core.db.repository.redis.queue;
+
+import com.winten.greenlight.core.domain.customer.CustomerSession;
+
+/**
+ * 신규 진입 스크립트에 전달할 진입 고객입니다.
+ *
+ * @param session     저장할 고객 세션 (waitStatus는 스크립트에서 결정)
+ * @param preAdmitted 노드에서 이미 입장 허용량을 확보한 경우 true, 판단 없이 READY로 등록
+ */
+public record QueueEntry(CustomerSession session, boolean preAdmitted) {
+}
@@ -0,0 +1,13 @@
+package com.winten.greenlight.core.db.repository.redis.queue;
+
+import com.winten.greenlight.core.domain.customer.WaitStatus;
+
+/**
+ * 신규 진입 스크립트의 결과입니다.
+ *
+ * @param waitStatus 판단된 대기 상태 (WAITING or READY)
+ * @param rank       대기열에 추가된 후의 순번 (0부터 시작), 이미 등록된 고객이거나 SEQUENCE 모드라면 -1
+ * @param ticketNo   SEQUENCE 모드에서 WAITING 대기열에 등록된 경우 발급된 티켓 번호, 아니라면 null
+ */
+public record QueueEntryResult(WaitStatus waitStatus, Long rank, Long ticketNo) {
+}
@@ -0,0 +1,19 @@
+package com.winten.greenlight.core.db.repository.redis.queue;
+
+/**
+ * WAITING 대기열 순번 계산 방식입니다. (greenlight.queue.position-mode)
+ */
+public enum QueuePositionMode {
+    /**
+     * 진입 시간을 score로 사용하고, 순번은 ZRANK로 조회합니다.
+     */
+    RANK,
+
+    /**
+     * ActionGroup별 티켓 번호를 score로 사용하고, 순번은 "내 티켓 번호 - 입장 완료 커서 - 그 사이 취소된 티켓 수"로 계산합니다.
+     * ActionGroup당 한 번의 상태 조회로 모든 구독자의 순번을 노드에서 계산할 수 있습니다.
+     * 모든 ActionGroup 키가 같은 slot에 있어야 하며(redis.key-schema: V2), 키 레이아웃 전환 중에는 동작하지 않습니다.
+     * 점수 체계가 다르므로 WAITING 대기열이 비어있을 때 전환해야 합니다.
+     */
+    SEQUENCE
+}
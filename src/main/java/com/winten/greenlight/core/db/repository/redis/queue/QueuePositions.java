@@ -0,0 +1,21 @@
+package com.winten.greenlight.core.db.repository.redis.queue;
+
+import java.util.List;
+
+/**
+ * 한 ActionGroup에 속한 여러 고객의 대기열 위치 조회 결과입니다.
+ *
+ * @param waitingCount WAITING 대기열 크기
+ * @param ranks        요청한 고객 순서대로의 WAITING 대기열 순번 (0부터 시작), {@link #READY} 또는 {@link #NOT_FOUND}
+ */
+public record QueuePositions(long waitingCount, List<Long> ranks) {
+    /**
+     * WAITING 대기열에는 없고 READY 대기열에 있는 고객
+     */
+    public static final long READY = -1L;
+
+    /**
+     * WAITING, READY 대기열 모두에 없는 고객
+     */
+    public static final long NOT_FOUND = -2L;
+}
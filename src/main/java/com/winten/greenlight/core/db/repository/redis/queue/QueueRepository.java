@@ -1,12 +1,37 @@
 package com.winten.greenlight.core.db.repository.redis.queue;
 
+import com.winten.greenlight.core.db.repository.redis.customer.CustomerSessionCodec;
+import com.winten.greenlight.core.db.repository.redis.traffic.TrafficCounterRepository;
+import com.winten.greenlight.core.db.repository.redis.traffic.TrafficType;
+import com.winten.greenlight.core.db.repository.redis.traffic.VisitorCounterRepository;
+import com.winten.greenlight.core.domain.customer.CustomerSession;
+import com.winten.greenlight.core.domain.customer.WaitStatus;
+import com.winten.greenlight.core.support.error.CoreException;
+import com.winten.greenlight.core.support.error.ErrorType;
 import com.winten.greenlight.core.support.util.RedisKeyBuilder;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.Limit;
 import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 /**
  * 대기열 관련 Redis 작업을 수행하는 Repository 클래스입니다.
  * Redis Sorted Set (ZSET)을 사용하여 대기열 및 활성 사용자 수를 관리합니다.
@@ -16,8 +41,48 @@ import reactor.core.publisher.Mono;
 @RequiredArgsConstructor
 public class QueueRepository {
 
+    private static final RedisScript<List> ENTRY_SCRIPT = RedisScript.of(new ClassPathResource("redis/scripts/queue-entry.lua"), List.class);
+    private static final RedisScript<List> POSITIONS_SCRIPT = RedisScript.of(new ClassPathResource("redis/scripts/queue-positions.lua"), List.class);
+    private static final RedisScript<List> SEQUENCE_STATE_SCRIPT = RedisScript.of(new ClassPathResource("redis/scripts/queue-sequence-state.lua"), List.class);
+    private static final RedisScript<Long> TICKET_ISSUE_SCRIPT = RedisScript.of(new ClassPathResource("redis/scripts/queue-ticket-issue.lua"), Long.class);
+    private static final RedisScript<List> LEAVE_SCRIPT = RedisScript.of(new ClassPathResource("redis/scripts/queue-leave.lua"), List.class);
+    private static final RedisScript<List> ADMIT_SCRIPT = RedisScript.of(new ClassPathResource("redis/scripts/queue-admit.lua"), List.class);
+    private static final RedisScript<Long> ADMISSION_CREDIT_LEASE_SCRIPT = RedisScript.of(new ClassPathResource("redis/scripts/admission-credit-lease.lua"), Long.class);
+
+    // 입장 허용량 버킷 폭(초), 버킷 키는 epoch second 단위
+    private static final long ADMISSION_CREDIT_BUCKET_SECONDS = 1L;
+    // 입장 허용량 버킷 TTL(초), 버킷 구간이 끝난 뒤 한 구간 더 유지. 임대, 입장 처리 스크립트가 같은 값을 사용
+    private static final String ADMISSION_CREDIT_BUCKET_TTL_SECONDS = String.valueOf(ADMISSION_CREDIT_BUCKET_SECONDS * 2);
+
     private final ReactiveRedisTemplate<String, String> redisTemplate;
     private final RedisKeyBuilder keyBuilder;
+    private final CustomerSessionCodec sessionCodec;
+    private final TrafficCounterRepository trafficCounterRepository;
+    private final VisitorCounterRepository visitorCounterRepository;
+
+    @Value("${greenlight.queue.position-mode:RANK}")
+    private QueuePositionMode positionMode;
+
+    /**
+     * READY 전환 알림 메시지 하나에 담을 최대 고객 수
+     */
+    @Value("${greenlight.queue.admission-notification.batch-size:500}")
+    private int notificationBatchSize;
+
+    @PostConstruct
+    public void checkPositionMode() {
+        if (positionMode == QueuePositionMode.SEQUENCE && !isSequenceMode()) {
+            log.warn("queue position mode SEQUENCE requires redis key schema V2 without legacy dual-read. schema: {}, dual-read: {}. falling back to RANK.",
+                    keyBuilder.schema(), keyBuilder.isLegacyDualRead());
+        }
+    }
+
+    /**
+     * WAITING 대기열 score로 티켓 번호를 사용하는지 여부
+     */
+    public boolean isSequenceMode() {
+        return positionMode == QueuePositionMode.SEQUENCE && keyBuilder.isClusterSlotAligned() && !keyBuilder.isLegacyDualRead();
+    }
 
     /**
      * 특정 ActionGroup에 진입 가능한 수를 조회합니다.
@@ -26,12 +91,11 @@ public class QueueRepository {
      * @return Mono<Long> ActionGroup 내 진입 가능한 수
      */
     public Mono<Long> getAvailableCapacity(Long actionGroupId) {
-        String key = keyBuilder.actionGroupStatus(actionGroupId);
-        return redisTemplate.opsForHash().entries(key)
-                .collectMap(
-                        e -> String.valueOf(e.getKey()),
-                        e -> String.valueOf(e.getValue())
-                )
+        Mono<Map<String, String>> status = findActionGroupStatus(keyBuilder, actionGroupId);
+        if (keyBuilder.isLegacyDualRead()) { // 키 레이아웃 전환 중에는 이전 status 키도 확인
+            status = status.switchIfEmpty(findActionGroupStatus(keyBuilder.legacy(), actionGroupId));
+        }
+        return status
                 .map(map ->{
                             long waitingQueueSize = Long.parseLong(map.getOrDefault("waitingQueueSize", "0"));
                             long availableCapacity = Long.parseLong(map.getOrDefault("availableCapacity", "0"));
@@ -44,6 +108,16 @@ public class QueueRepository {
                 }); // ZSET의 요소 개수 반환
     }
 
+    private Mono<Map<String, String>> findActionGroupStatus(RedisKeyBuilder builder, Long actionGroupId) {
+        String key = builder.actionGroupStatus(actionGroupId);
+        return redisTemplate.opsForHash().entries(key)
+                .collectMap(
+                        e -> String.valueOf(e.getKey()),
+                        e -> String.valueOf(e.getValue())
+                )
+                .filter(map -> !map.isEmpty());
+    }
+
     /**
      * 지정된 키의 Sorted Set에 사용자를 추가합니다.
      * Redis ZSET의 ADD 명령어를 사용하며, 현재 시간을 score로 사용하여 순서를 결정합니다.
@@ -58,6 +132,403 @@ public class QueueRepository {
             .flatMap(added -> added ? redisTemplate.opsForZSet().rank(key, value) : Mono.just(-1L)); // 추가 성공 시 순위 반환, 실패 시 -1L
     }
 
+    /**
+     * 신규 진입 고객을 한 번의 Redis 호출로 처리합니다.
+     * 대기 필요 여부 판단, WAITING/READY 대기열 등록, 세션 저장, 요청 로그 및 방문 기록, 순번 조회를 서버 측 스크립트에서 원자적으로 수행하므로
+     * 동시에 진입한 고객들이 모두 빈 WAITING 대기열을 보고 입장하는 경합이 발생하지 않습니다.
+     * 스크립트가 사용하는 키는 모두 같은 cluster slot에 있어야 합니다.
+     *
+     * @param session             저장할 고객 세션 (waitStatus는 스크립트에서 결정)
+     * @param maxTrafficPerSecond ActionGroup의 초당 최대 허용 고객 수
+     * @param sessionTtl          세션 TTL
+     * @param preAdmitted         노드에서 이미 입장 허용량을 확보한 경우 true, 판단 없이 READY로 등록
+     * @return Mono<QueueEntryResult> 판단된 대기 상태와 순번
+     */
+    public Mono<QueueEntryResult> enter(CustomerSession session, Integer maxTrafficPerSecond, Duration sessionTtl, boolean preAdmitted) {
+        return enterAll(session.getActionGroupId(), List.of(new QueueEntry(session, preAdmitted)), maxTrafficPerSecond, sessionTtl)
+                .map(results -> results.get(0));
+    }
+
+    /**
+     * 같은 ActionGroup에 진입한 여러 고객을 한 번의 Redis 호출로 처리합니다.
+     * 전달된 순서대로 한 명씩 {@link #enter}를 호출한 것과 같은 결과가 되며, 대기 필요 여부 판단도 고객마다 이루어집니다.
+     *
+     * @param actionGroupId       고객들이 진입한 ActionGroup의 ID
+     * @param entries             진입 고객 목록 (모두 같은 ActionGroup)
+     * @param maxTrafficPerSecond ActionGroup의 초당 최대 허용 고객 수, null이라면 INVALID_DATA 오류
+     * @param sessionTtl          세션 TTL
+     * @return Mono<List<QueueEntryResult>> entries 순서대로 판단된 대기 상태와 순번
+     */
+    public Mono<List<QueueEntryResult>> enterAll(Long actionGroupId, List<QueueEntry> entries, Integer maxTrafficPerSecond, Duration sessionTtl) {
+        if (maxTrafficPerSecond == null) { // 0으로 전달하면 모든 고객이 WAITING으로 등록됨
+            return Mono.error(CoreException.of(ErrorType.INVALID_DATA, "maxTrafficPerSecond가 설정되지 않은 Action Group입니다. actionGroupId: " + actionGroupId));
+        }
+        var keys = new ArrayList<String>();
+        keys.add(keyBuilder.queue(actionGroupId, WaitStatus.WAITING));
+        keys.add(keyBuilder.queue(actionGroupId, WaitStatus.READY));
+        keys.add(keyBuilder.queueTicketSequence(actionGroupId));
+        keys.addAll(trafficCounterRepository.bucketKeys(actionGroupId, TrafficType.REQUEST));
+        for (var entry : entries) {
+            keys.add(keyBuilder.customerSession(actionGroupId, entry.session().getCustomerId()));
+        }
+        if (visitorCounterRepository.isEnabled()) { // 5분 동시접속자 수 계산을 위한 방문 기록도 같은 호출에서 처리
+            keys.add(visitorCounterRepository.currentKey(actionGroupId));
+        }
+        return getLegacyWaitingCount(actionGroupId)
+                .flatMap(legacyWaitingCount -> redisTemplate.execute(ENTRY_SCRIPT, keys, entryArgs(entries, maxTrafficPerSecond, sessionTtl, legacyWaitingCount))
+                        .next())
+                .map(result -> {
+                    var results = new ArrayList<QueueEntryResult>(entries.size());
+                    for (int i = 0; i + 2 < result.size(); i += 3) {
+                        long ticketNo = ((Number) result.get(i + 2)).longValue();
+                        results.add(new QueueEntryResult(
+                                WaitStatus.valueOf(String.valueOf(result.get(i))),
+                                ((Number) result.get(i + 1)).longValue(),
+                                ticketNo > 0 ? ticketNo : null
+                        ));
+                    }
+                    return results;
+                });
+    }
+
+    private List<String> entryArgs(List<QueueEntry> entries, Integer maxTrafficPerSecond, Duration sessionTtl, Long legacyWaitingCount) {
+        var args = new ArrayList<String>();
+        args.add(String.valueOf(maxTrafficPerSecond));
+        args.add(String.valueOf(sessionTtl.toSeconds()));
+        args.add(sessionCodec.encodeWaitStatus(WaitStatus.WAITING));
+        args.add(sessionCodec.encodeWaitStatus(WaitStatus.READY));
+        args.add(String.valueOf(legacyWaitingCount));
+        args.add(String.valueOf(trafficCounterRepository.windowSeconds()));
+        args.add(String.valueOf(trafficCounterRepository.bucketTtlSeconds()));
+        args.add(isSequenceMode() ? "1" : "0");
+        args.add(String.valueOf(entries.size()));
+        args.add(String.valueOf(visitorCounterRepository.isEnabled() ? visitorCounterRepository.ttlSeconds() : 0L));
+        for (var entry : entries) {
+            var session = entry.session();
+            Map<String, String> sessionMap = sessionCodec.encode(session); // greenlight.customer-session.format 형식
+            sessionMap.remove("waitStatus");
+            sessionMap.remove("ticketNo");
+            args.add(session.getCustomerId());
+            args.add(String.valueOf(session.getTimestamp()));
+            args.add(entry.preAdmitted() ? "1" : "0");
+            args.add(String.valueOf(sessionMap.size()));
+            sessionMap.forEach((field, value) -> {
+                args.add(field);
+                args.add(value);
+            });
+        }
+        return args;
+    }
+
+    /**
+     * 한 ActionGroup에 속한 여러 고객의 대기열 위치를 한 번의 호출로 조회합니다.
+     * WAITING 대기열 크기와 고객별 순번을 함께 반환하므로, 앞/뒤 인원수 등은 호출한 쪽에서 계산합니다.
+     *
+     * @param actionGroupId 조회할 ActionGroup의 ID
+     * @param customerIds   조회할 고객 ID 목록
+     * @return Mono<QueuePositions> WAITING 대기열 크기와 고객별 순번
+     */
+    public Mono<QueuePositions> findQueuePositions(Long actionGroupId, List<String> customerIds) {
+        var keys = List.of(
+                keyBuilder.queue(actionGroupId, WaitStatus.WAITING),
+                keyBuilder.queue(actionGroupId, WaitStatus.READY)
+        );
+        return redisTemplate.execute(POSITIONS_SCRIPT, keys, customerIds)
+                .next()
+                .map(result -> {
+                    var ranks = new ArrayList<Long>(result.size() - 1);
+                    for (int i = 1; i < result.size(); i++) {
+                        ranks.add(((Number) result.get(i)).longValue());
+                    }
+                    return new QueuePositions(((Number) result.get(0)).longValue(), ranks);
+                });
+    }
+
+    /**
+     * SEQUENCE 모드에서 WAITING 대기열 진입 고객에게 티켓 번호를 발급하고 대기열에 추가합니다.
+     * 이미 대기중인 고객(재진입)은 새 번호를 발급하지 않고 기존 티켓 번호를 반환합니다.
+     *
+     * @return Mono<Long> 티켓 번호 (1부터 시작)
+     */
+    public Mono<Long> issueTicket(Long actionGroupId, String customerId) {
+        var keys = List.of(
+                keyBuilder.queue(actionGroupId, WaitStatus.WAITING),
+                keyBuilder.queueTicketSequence(actionGroupId)
+        );
+        return redisTemplate.execute(TICKET_ISSUE_SCRIPT, keys, List.of(customerId))
+                .next();
+    }
+
+    /**
+     * SEQUENCE 모드에서 한 ActionGroup의 순번 계산에 필요한 상태를 한 번의 호출로 조회합니다.
+     * 티켓 번호를 아직 모르는 고객(새로 연결된 구독자 등)이 있다면 함께 조회합니다.
+     *
+     * @param actionGroupId 조회할 ActionGroup의 ID
+     * @param customerIds   티켓 번호를 조회할 고객 ID 목록 (없다면 빈 목록)
+     * @return Mono<QueueSequenceState> 티켓 발급 현황, 입장 완료 커서, 취소 티켓, 고객별 티켓 번호
+     */
+    public Mono<QueueSequenceState> findQueueSequenceState(Long actionGroupId, List<String> customerIds) {
+        var keys = List.of(
+                keyBuilder.queue(actionGroupId, WaitStatus.WAITING),
+                keyBuilder.queue(actionGroupId, WaitStatus.READY),
+                keyBuilder.queueTicketSequence(actionGroupId),
+                keyBuilder.queueAdmittedCursor(actionGroupId),
+                keyBuilder.queueCancelledTickets(actionGroupId)
+        );
+        return redisTemplate.execute(SEQUENCE_STATE_SCRIPT, keys, customerIds)
+                .next()
+                .map(result -> {
+                    int cancelledCount = ((Number) result.get(2)).intValue();
+                    var cancelledTickets = new long[cancelledCount];
+                    for (int i = 0; i < cancelledCount; i++) {
+                        cancelledTickets[i] = ((Number) result.get(3 + i)).longValue();
+                    }
+                    var tickets = new ArrayList<Long>(customerIds.size());
+                    for (int i = 3 + cancelledCount; i < result.size(); i++) {
+                        tickets.add(((Number) result.get(i)).longValue());
+                    }
+                    return new QueueSequenceState(
+                            ((Number) result.get(0)).longValue(),
+                            ((Number) result.get(1)).longValue(),
+                            cancelledTickets,
+                            tickets
+                    );
+                });
+    }
+
+    /**
+     * 고객을 WAITING, READY 대기열에서 제거하고 대기 임대도 함께 삭제합니다. (직접 이탈)
+     * SEQUENCE 모드라면 뒤 순번 고객의 순번 보정을 위해 티켓을 취소 처리합니다.
+     * 키 레이아웃이 V2가 아니라면 대기열마다 따로 제거합니다.
+     *
+     * @return Mono<Boolean> 대기열에서 제거되었다면 true, 대기열에 없었다면 false
+     */
+    public Mono<Boolean> leave(Long actionGroupId, String customerId) {
+        Mono<Boolean> left;
+        if (keyBuilder.isClusterSlotAligned()) {
+            left = executeLeave(actionGroupId, List.of(customerId), 0L).map(removed -> !removed.isEmpty());
+        } else {
+            left = Flux.concat(
+                            redisTemplate.opsForZSet().remove(keyBuilder.queue(actionGroupId, WaitStatus.WAITING), customerId),
+                            redisTemplate.opsForZSet().remove(keyBuilder.queue(actionGroupId, WaitStatus.READY), customerId))
+                    .reduce(0L, Long::sum)
+                    .map(count -> count > 0);
+        }
+        if (keyBuilder.isLegacyDualRead()) { // 키 레이아웃 전환 중에는 이전 대기열에서도 제거
+            var legacy = keyBuilder.legacy();
+            left = Mono.zip(left, Flux.concat(
+                                    redisTemplate.opsForZSet().remove(legacy.queue(actionGroupId, WaitStatus.WAITING), customerId),
+                                    redisTemplate.opsForZSet().remove(legacy.queue(actionGroupId, WaitStatus.READY), customerId))
+                            .reduce(0L, Long::sum))
+                    .map(tuple -> tuple.getT1() || tuple.getT2() > 0);
+        }
+        return left;
+    }
+
+    /**
+     * WAITING 고객의 대기 임대 만료 시간을 한 번의 ZADD로 갱신합니다.
+     *
+     * @param customerIds 임대를 갱신할 고객 ID 목록
+     * @param expiresAt   새 만료 시간 (epoch millis)
+     * @param keyTtl      임대 키 TTL, 갱신이 끊긴 ActionGroup의 임대 키가 남지 않도록 설정
+     * @return Mono<Long> 새로 추가된 고객 수
+     */
+    public Mono<Long> renewLeases(Long actionGroupId, Collection<String> customerIds, long expiresAt, Duration keyTtl) {
+        String key = keyBuilder.queueLease(actionGroupId);
+        Set<ZSetOperations.TypedTuple<String>> tuples = customerIds.stream()
+                .map(customerId -> ZSetOperations.TypedTuple.of(customerId, (double) expiresAt))
+                .collect(Collectors.toSet());
+        return redisTemplate.opsForZSet().addAll(key, tuples)
+                .flatMap(added -> redisTemplate.expire(key, keyTtl).thenReturn(added));
+    }
+
+    /**
+     * 대기 임대가 만료된 고객을 만료 시간이 오래된 순서로 최대 limit 명 조회합니다.
+     */
+    public Mono<List<String>> findExpiredLeases(Long actionGroupId, long expiredBefore, int limit) {
+        return redisTemplate.opsForZSet()
+                .rangeByScore(keyBuilder.queueLease(actionGroupId), Range.closed(0D, (double) expiredBefore), Limit.limit().count(limit))
+                .collectList();
+    }
+
+    /**
+     * 대기 임대가 expiredBefore 이전에 만료된 WAITING 고객을 제거합니다. 조회 이후 임대가 갱신된 고객은 제거하지 않습니다.
+     * 여러 노드가 같은 고객을 동시에 정리하더라도 한 번만 제거된 것으로 반환됩니다.
+     *
+     * @return Mono<List<String>> 대기열에서 제거된 고객 ID 목록
+     */
+    public Mono<List<String>> evictExpired(Long actionGroupId, List<String> customerIds, long expiredBefore) {
+        if (customerIds.isEmpty()) {
+            return Mono.just(List.of());
+        }
+        return executeLeave(actionGroupId, customerIds, expiredBefore);
+    }
+
+    private Mono<List<String>> executeLeave(Long actionGroupId, List<String> customerIds, long expiredBefore) {
+        var keys = List.of(
+                keyBuilder.queue(actionGroupId, WaitStatus.WAITING),
+                keyBuilder.queue(actionGroupId, WaitStatus.READY),
+                keyBuilder.queueCancelledTickets(actionGroupId),
+                keyBuilder.queueLease(actionGroupId)
+        );
+        var args = new ArrayList<String>(customerIds.size() + 2);
+        args.add(isSequenceMode() ? "1" : "0");
+        args.add(String.valueOf(expiredBefore));
+        args.addAll(customerIds);
+        return redisTemplate.execute(LEAVE_SCRIPT, keys, args)
+                .next()
+                .map(result -> {
+                    List<String> removed = new ArrayList<>(result.size());
+                    for (Object customerId : result) {
+                        removed.add(String.valueOf(customerId));
+                    }
+                    return removed;
+                })
+                .defaultIfEmpty(List.of());
+    }
+
+    /**
+     * ActionGroup의 현재 초 입장 허용량 중 일부를 노드에 임대합니다.
+     * 진입 스크립트와 같은 기준(대기고객 수, 최근 초당 요청 수)으로 판단하며,
+     * WAITING 대기열에 고객이 있거나 요청 수 여유분, 이번 초의 허용량이 남아있지 않다면 0을 반환합니다.
+     *
+     * @param actionGroupId       대상 ActionGroup의 ID
+     * @param maxTrafficPerSecond ActionGroup의 초당 최대 허용 고객 수
+     * @param leaseSize           요청 임대량
+     * @param epochSecond         임대 대상 초
+     * @return Mono<Long> 임대된 허용량
+     */
+    public Mono<Long> leaseAdmissionCredits(Long actionGroupId, Integer maxTrafficPerSecond, long leaseSize, long epochSecond) {
+        var keys = new ArrayList<String>();
+        keys.add(keyBuilder.actionGroupAdmissionCredit(actionGroupId, epochSecond));
+        keys.add(keyBuilder.queue(actionGroupId, WaitStatus.WAITING));
+        keys.addAll(trafficCounterRepository.bucketKeys(actionGroupId, TrafficType.REQUEST)); // 진입 스크립트와 같은 요청 수 기준
+        return getLegacyWaitingCount(actionGroupId)
+                .flatMap(legacyWaitingCount -> redisTemplate.execute(ADMISSION_CREDIT_LEASE_SCRIPT, keys, List.of(
+                                String.valueOf(maxTrafficPerSecond),
+                                String.valueOf(leaseSize),
+                                ADMISSION_CREDIT_BUCKET_TTL_SECONDS,
+                                String.valueOf(trafficCounterRepository.windowSeconds()),
+                                String.valueOf(legacyWaitingCount)))
+                        .next())
+                .defaultIfEmpty(0L);
+    }
+
+    /**
+     * READY 대기열로 옮겨진 고객을 알림 채널로 발행합니다. 고객이 많다면 notification-batch-size 명씩 나누어 발행합니다.
+     *
+     * @return Mono<Long> 알림을 받은 구독 연결 수의 합
+     */
+    public Mono<Long> publishAdmitted(Long actionGroupId, List<String> customerIds) {
+        if (customerIds.isEmpty()) {
+            return Mono.just(0L);
+        }
+        var channel = keyBuilder.queueAdmissionChannel();
+        return Flux.range(0, (customerIds.size() + notificationBatchSize - 1) / notificationBatchSize)
+                .concatMap(chunk -> {
+                    var message = new StringBuilder().append(actionGroupId);
+                    for (int i = chunk * notificationBatchSize; i < Math.min((chunk + 1) * notificationBatchSize, customerIds.size()); i++) {
+                        message.append(' ').append(customerIds.get(i));
+                    }
+                    return redisTemplate.convertAndSend(channel, message.toString());
+                })
+                .reduce(0L, Long::sum);
+    }
+
+    /**
+     * READY 전환 알림을 구독합니다. 해석할 수 없는 메시지는 무시합니다.
+     */
+    public Flux<AdmissionNotification> listenAdmitted() {
+        return redisTemplate.listenToChannel(keyBuilder.queueAdmissionChannel())
+                .flatMap(message -> {
+                    var parts = message.getMessage().split(" ");
+                    try {
+                        return Mono.just(new AdmissionNotification(Long.valueOf(parts[0]), Arrays.asList(parts).subList(1, parts.length)));
+                    } catch (NumberFormatException e) {
+                        log.warn("invalid admission notification ignored. message: {}", message.getMessage());
+                        return Mono.empty();
+                    }
+                });
+    }
+
+    /**
+     * ActionGroup의 리더 lock을 획득(또는 연장)하고, 리더라면 WAITING 대기열의 앞쪽 고객을 READY 대기열로 옮깁니다.
+     * 입장시킬 수는 이번 초에 남은 입장 허용량(입장 크레딧과 공유)과 batchSize 중 작은 값이며,
+     * 처리 후 대기열 상태(waitingQueueSize, availableCapacity)를 status hash에 기록합니다.
+     *
+     * @param actionGroupId       대상 ActionGroup의 ID
+     * @param nodeId              리더 lock 소유자로 기록할 노드 ID
+     * @param lockTtl             리더 lock TTL
+     * @param maxTrafficPerSecond ActionGroup의 초당 최대 허용 고객 수
+     * @param batchSize           한 번에 입장시킬 최대 고객 수
+     * @return Mono<AdmissionResult> 리더 여부, 남은 대기 고객 수, 입장시킨 고객 목록
+     */
+    public Mono<AdmissionResult> admit(Long actionGroupId, String nodeId, Duration lockTtl, int maxTrafficPerSecond, long batchSize) {
+        var now = System.currentTimeMillis();
+        var keys = List.of(
+                keyBuilder.actionGroupAdmissionLeader(actionGroupId),
+                keyBuilder.queue(actionGroupId, WaitStatus.WAITING),
+                keyBuilder.queue(actionGroupId, WaitStatus.READY),
+                keyBuilder.actionGroupAdmissionCredit(actionGroupId, now / 1000L),
+                keyBuilder.actionGroupStatus(actionGroupId),
+                keyBuilder.queueAdmittedCursor(actionGroupId)
+        );
+        var args = List.of(
+                nodeId,
+                String.valueOf(lockTtl.toMillis()),
+                String.valueOf(maxTrafficPerSecond),
+                String.valueOf(now),
+                ADMISSION_CREDIT_BUCKET_TTL_SECONDS,
+                String.valueOf(batchSize),
+                isSequenceMode() ? "1" : "0"
+        );
+        return redisTemplate.execute(ADMIT_SCRIPT, keys, args)
+                .next()
+                .map(result -> {
+                    long waitingCount = ((Number) result.get(0)).longValue();
+                    if (waitingCount < 0) {
+                        return AdmissionResult.notLeader();
+                    }
+                    var admitted = new ArrayList<String>(result.size() - 1);
+                    for (int i = 1; i < result.size(); i++) {
+                        admitted.add(String.valueOf(result.get(i)));
+                    }
+                    return new AdmissionResult(true, waitingCount, admitted);
+                });
+    }
+
+    /**
+     * 키 레이아웃 전환 중 이전(V1) WAITING 대기열에 남아있는 고객 수를 조회합니다. 전환 중이 아니라면 0을 반환합니다.
+     */
+    public Mono<Long> getLegacyWaitingCount(Long actionGroupId) {
+        if (!keyBuilder.isLegacyDualRead()) {
+            return Mono.just(0L);
+        }
+        return redisTemplate.opsForZSet().size(keyBuilder.legacy().queue(actionGroupId, WaitStatus.WAITING))
+                .defaultIfEmpty(0L);
+    }
+
+    /**
+     * 이전(V1) 대기열의 고객을 score(진입 시간)를 유지한 채 현재 레이아웃의 대기열로 옮깁니다.
+     * 두 키가 서로 다른 slot에 있으므로 새 키에 먼저 추가한 뒤 이전 키에서 삭제하여, 중간에 실패하더라도 고객이 유실되지 않도록 합니다.
+     *
+     * @param actionGroupId 대상 ActionGroup의 ID
+     * @param waitStatus    대상 대기열 상태
+     * @param batchSize     한 번에 옮길 최대 고객 수
+     * @return Mono<Long> 옮긴 고객 수
+     */
+    public Mono<Long> migrateLegacyQueue(Long actionGroupId, WaitStatus waitStatus, int batchSize) {
+        String legacyKey = keyBuilder.legacy().queue(actionGroupId, waitStatus);
+        String key = keyBuilder.queue(actionGroupId, waitStatus);
+        return redisTemplate.opsForZSet().rangeWithScores(legacyKey, Range.closed(0L, (long) batchSize - 1))
+                .collectList()
+                .filter(tuples -> !tuples.isEmpty())
+                .flatMap(tuples -> redisTemplate.opsForZSet().addAll(key, tuples)
+                        .then(redisTemplate.opsForZSet().remove(legacyKey, tuples.stream().map(ZSetOperations.TypedTuple::getValue).toArray()))
+                )
+                .defaultIfEmpty(0L);
+    }
+
     /**
      * 대기열에서 특정 사용자의 순번을 조회합니다.
      *
@@ -71,8 +542,10 @@ public class QueueRepository {
     }
 
     public Mono<Double> getCurrentRequestPerSec(Long actionGroupId) {
-        String key = keyBuilder.actionGroupRequestLog(actionGroupId);
-        return redisTemplate.opsForZSet().size(key)
-                .map(val -> val / 10.0);
+        return trafficCounterRepository.getRequestPerSecond(actionGroupId, TrafficType.REQUEST);
+    }
+
+    public Mono<Double> getCurrentAccessPerSec(Long actionGroupId) {
+        return trafficCounterRepository.getRequestPerSecond(actionGroupId, TrafficType.ACCESS);
     }
 }
\ No newline at end of file
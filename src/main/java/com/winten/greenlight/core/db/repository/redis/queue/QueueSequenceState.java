@@ -0,0 +1,42 @@
+package com.winten.greenlight.core.db.repository.redis.queue;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * SEQUENCE 모드에서 한 ActionGroup의 대기열 상태입니다.
+ * 순번 계산에 필요한 값이 모두 들어있으므로 구독자별 Redis 조회 없이 노드에서 순번을 계산합니다.
+ *
+ * @param lastTicket       마지막으로 발급된 티켓 번호
+ * @param admittedCursor   이 번호까지의 티켓은 모두 입장(또는 취소) 처리됨
+ * @param cancelledTickets 커서 이후에 취소된 티켓 번호 (오름차순)
+ * @param tickets          요청한 고객 순서대로의 티켓 번호, {@link QueuePositions#READY} 또는 {@link QueuePositions#NOT_FOUND}
+ */
+public record QueueSequenceState(long lastTicket, long admittedCursor, long[] cancelledTickets, List<Long> tickets) {
+
+    /**
+     * 커서 이후 남아있는 대기 고객 수
+     */
+    public long waitingCount() {
+        return Math.max(lastTicket - admittedCursor - cancelledTickets.length, 0L);
+    }
+
+    /**
+     * 티켓의 대기 순번 (1부터 시작). 이미 입장 처리된 티켓이라면 0을 반환합니다.
+     */
+    public long position(long ticket) {
+        if (ticket <= admittedCursor) {
+            return 0L;
+        }
+        return ticket - admittedCursor - cancelledBefore(ticket);
+    }
+
+    public boolean isCancelled(long ticket) {
+        return Arrays.binarySearch(cancelledTickets, ticket) >= 0;
+    }
+
+    private int cancelledBefore(long ticket) {
+        int index = Arrays.binarySearch(cancelledTickets, ticket);
+        return index >= 0 ? index : -index - 1;
+    }
+}
@@ -0,0 +1,15 @@
+package com.winten.greenlight.core.db.repository.redis.traffic;
+
+/**
+ * 5분 동시접속자 수 계산을 위한 방문 기록 저장 방식
+ */
+public enum ConcurrentUserStore {
+    /**
+     * 모든 방문자를 하나의 {prefix}:session ZSET에 기록 (기본값)
+     */
+    ZSET,
+    /**
+     * ActionGroup별, 분 단위 HyperLogLog에 기록하고 조회 시 최근 구간을 합산
+     */
+    HLL
+}
@@ -0,0 +1,109 @@
+package com.winten.greenlight.core.db.repository.redis.traffic;
+
+import com.winten.greenlight.core.support.util.RedisKeyBuilder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ActionGroup 단위 트래픽을 초 단위 카운터 버킷으로 집계하는 Repository 클래스입니다.
+ * 버킷마다 TTL이 설정되어 있어 별도의 정리 작업 없이 고정된 메모리만 사용하며,
+ * 최근 N초의 요청 수는 MGET 한 번으로 조회합니다. (redis.key-schema: V2 에서는 한 그룹의 버킷이 모두 같은 slot에 위치)
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class TrafficCounterRepository {
+    private static final RedisScript<Long> INCREMENT_SCRIPT = RedisScript.of(new ClassPathResource("redis/scripts/traffic-increment.lua"), Long.class);
+
+    private final ReactiveRedisTemplate<String, String> redisTemplate;
+    private final RedisKeyBuilder keyBuilder;
+
+    /**
+     * 초당 요청 수를 계산할 때 사용하는 구간 (초)
+     */
+    @Value("${greenlight.traffic.window-seconds:10}")
+    private int windowSeconds;
+
+    /**
+     * 현재 시각의 버킷을 1 증가시킵니다.
+     *
+     * @return Mono<Long> 증가 후의 버킷 값
+     */
+    public Mono<Long> increment(Long actionGroupId, TrafficType trafficType) {
+        var key = bucketKey(actionGroupId, trafficType, currentEpochSecond());
+        return redisTemplate.execute(INCREMENT_SCRIPT, List.of(key), List.of(String.valueOf(bucketTtlSeconds())))
+                .next();
+    }
+
+    /**
+     * 최근 window-seconds 동안의 평균 초당 요청 수를 조회합니다.
+     */
+    public Mono<Double> getRequestPerSecond(Long actionGroupId, TrafficType trafficType) {
+        return getLastSeconds(actionGroupId, trafficType, windowSeconds)
+                .map(counts -> counts.stream().mapToLong(Long::longValue).sum() / (double) windowSeconds);
+    }
+
+    /**
+     * 최근 N초 동안의 초 단위 요청 수를 조회합니다. (오래된 순서, 마지막 값이 현재 초)
+     *
+     * @param seconds 조회할 초 수 (최대 window-seconds)
+     */
+    public Mono<List<Long>> getLastSeconds(Long actionGroupId, TrafficType trafficType, int seconds) {
+        return redisTemplate.opsForValue().multiGet(bucketKeys(actionGroupId, trafficType, Math.min(seconds, windowSeconds)))
+                .map(values -> values.stream()
+                        .map(value -> value != null ? Long.parseLong(value) : 0L)
+                        .toList());
+    }
+
+    /**
+     * 최근 window-seconds 동안의 버킷 키 목록을 반환합니다. (오래된 순서, 마지막 키가 현재 초)
+     * 스크립트에서 트래픽을 집계할 때 KEYS로 전달하기 위해 사용합니다.
+     */
+    public List<String> bucketKeys(Long actionGroupId, TrafficType trafficType) {
+        return bucketKeys(actionGroupId, trafficType, windowSeconds);
+    }
+
+    /**
+     * 현재 초의 버킷 키를 반환합니다. 스크립트에서 트래픽을 기록할 때 KEYS로 전달하기 위해 사용합니다.
+     */
+    public String currentBucketKey(Long actionGroupId, TrafficType trafficType) {
+        return bucketKey(actionGroupId, trafficType, currentEpochSecond());
+    }
+
+    private List<String> bucketKeys(Long actionGroupId, TrafficType trafficType, int seconds) {
+        var now = currentEpochSecond();
+        var keys = new ArrayList<String>(seconds);
+        for (long second = now - seconds + 1; second <= now; second++) {
+            keys.add(bucketKey(actionGroupId, trafficType, second));
+        }
+        return keys;
+    }
+
+    public int windowSeconds() {
+        return windowSeconds;
+    }
+
+    /**
+     * 버킷은 집계 구간이 지난 뒤 조금 더 유지한 후 만료됩니다.
+     */
+    public long bucketTtlSeconds() {
+        return windowSeconds + 5L;
+    }
+
+    private String bucketKey(Long actionGroupId, TrafficType trafficType, long epochSecond) {
+        return keyBuilder.actionGroupTrafficBucket(actionGroupId, trafficType.key(), epochSecond);
+    }
+
+    private long currentEpochSecond() {
+        return System.currentTimeMillis() / 1000L;
+    }
+}
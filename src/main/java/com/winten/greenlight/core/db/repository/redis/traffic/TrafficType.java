@@ -0,0 +1,24 @@
+package com.winten.greenlight.core.db.repository.redis.traffic;
+
+/**
+ * ActionGroup 단위로 집계하는 트래픽 종류입니다.
+ */
+public enum TrafficType {
+    /**
+     * 대기열 진입 요청 (check-or-enter, check-landing)
+     */
+    REQUEST("request"),
+
+    /**
+     * 대기 완료 후 실제 입장 (verify)
+     */
+    ACCESS("access");
+
+    private final String key;
+
+    TrafficType(String key) {
+        this.key = key;
+    }
+
+    public String key() {return key;}
+}
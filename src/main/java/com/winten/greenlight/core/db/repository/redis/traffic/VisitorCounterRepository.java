@@ -0,0 +1,73 @@
+package com.winten.greenlight.core.db.repository.redis.traffic;
+
+import com.winten.greenlight.core.support.util.RedisKeyBuilder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * ActionGroup 단위 고유 방문자 수를 분 단위 HyperLogLog로 집계하는 Repository 클래스입니다.
+ * 키 하나가 최대 12KB로 고정되어 방문자 수와 관계없이 메모리가 일정하며, 키마다 TTL이 설정되어 별도의 정리 작업이 필요 없습니다.
+ * 동시접속자 수를 읽는 쪽(관리 서버 등)은 최근 window 동안의 분 키를 PFCOUNT 한 번으로 합쳐 조회할 수 있습니다.
+ * (ActionGroup의 모든 분 키가 같은 slot에 위치)
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class VisitorCounterRepository {
+    private static final RedisScript<Long> RECORD_SCRIPT = RedisScript.of(new ClassPathResource("redis/scripts/visitor-record.lua"), Long.class);
+
+    private final ReactiveRedisTemplate<String, String> redisTemplate;
+    private final RedisKeyBuilder keyBuilder;
+
+    @Value("${greenlight.concurrent-user.store:ZSET}")
+    private ConcurrentUserStore store;
+
+    /**
+     * 동시접속자 수 계산 구간
+     */
+    @Value("${greenlight.concurrent-user.window:5m}")
+    private Duration window;
+
+    public boolean isEnabled() {
+        return store == ConcurrentUserStore.HLL;
+    }
+
+    /**
+     * 현재 분의 HyperLogLog에 방문자를 추가합니다.
+     *
+     * @param uniqueId 고객 고유번호 (customerId의 actionId를 제외한 부분)
+     * @return Mono<Boolean> HyperLogLog가 변경되었다면 true
+     */
+    public Mono<Boolean> record(Long actionGroupId, String uniqueId) {
+        return redisTemplate.execute(RECORD_SCRIPT, List.of(currentKey(actionGroupId)), List.of(String.valueOf(ttlSeconds()), uniqueId))
+                .next()
+                .map(changed -> changed > 0);
+    }
+
+    /**
+     * 현재 분의 HyperLogLog 키를 반환합니다. 스크립트에서 방문자를 기록할 때 KEYS로 전달하기 위해 사용합니다.
+     */
+    public String currentKey(Long actionGroupId) {
+        return keyBuilder.actionGroupVisitors(actionGroupId, currentEpochMinute());
+    }
+
+    /**
+     * HyperLogLog는 집계 구간이 지난 뒤 1분 더 유지한 후 만료됩니다.
+     */
+    public long ttlSeconds() {
+        return window.toSeconds() + 60L;
+    }
+
+    private long currentEpochMinute() {
+        return System.currentTimeMillis() / 60_000L;
+    }
+}
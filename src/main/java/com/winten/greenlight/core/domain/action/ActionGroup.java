@@ -56,4 +56,16 @@ public class ActionGroup extends AuditDto implements Hashable {
      * {@code false}일 경우, 이 그룹에 속한 모든 Action의 대기열 기능이 비활성화됩니다.
      */
     private Boolean enabled;
-}
\ No newline at end of file
+
+    /**
+     * SSE 구독자에게 매 broadcast tick 마다 순번을 갱신해 줄 대기 순번 범위입니다. (선택)
+     * 이보다 뒤에 있는 구독자는 순번에 비례해 드물게 갱신되며, 값이 없다면 greenlight.sse.cadence.head-position 을 사용합니다.
+     */
+    private Integer sseHeadPosition;
+
+    /**
+     * 대기열 뒤쪽 SSE 구독자의 최대 갱신 주기(초)입니다. (선택)
+     * 값이 없다면 greenlight.sse.cadence.max-interval 을 사용합니다.
+     */
+    private Integer sseMaxRefreshSeconds;
+}
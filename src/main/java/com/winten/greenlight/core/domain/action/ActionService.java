@@ -1,20 +1,49 @@
 package com.winten.greenlight.core.domain.action;
 
 import com.winten.greenlight.core.db.repository.redis.action.ActionRepository;
+import com.winten.greenlight.core.db.repository.redis.action.ActionRuleRepository;
 import com.winten.greenlight.core.domain.queue.ActionConfig;
 import com.winten.greenlight.core.domain.queue.SystemStatus;
 import com.winten.greenlight.core.support.error.CoreException;
 import com.winten.greenlight.core.support.error.ErrorType;
+import com.winten.greenlight.core.support.util.SingleFlight;
+import com.winten.greenlight.core.support.util.rule.CompiledActionRules;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
 
+import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class ActionService {
     private final ActionRepository actionRepository;
+    private final ActionRuleRepository actionRuleRepository;
+    private final ActionSnapshotManager actionSnapshotManager;
+    private final MeterRegistry meterRegistry;
+
+    // 스냅샷에 없는 key로 동시에 들어온 조회는 하나의 Redis 조회로 합침
+    private SingleFlight<Long, Action> actionFlight;
+    private SingleFlight<String, Action> landingFlight;
+    private SingleFlight<Long, ActionGroup> actionGroupFlight;
+    private SingleFlight<Long, CompiledActionRules> actionRulesFlight;
+
+    // 가장 최근 version의 ActionConfig, version이 바뀌면 교체
+    private final AtomicReference<VersionedActionConfig> actionConfigCache = new AtomicReference<>();
+
+    @PostConstruct
+    public void initSingleFlights() {
+        actionFlight = new SingleFlight<>("action", meterRegistry);
+        landingFlight = new SingleFlight<>("landing", meterRegistry);
+        actionGroupFlight = new SingleFlight<>("action_group", meterRegistry);
+        actionRulesFlight = new SingleFlight<>("action_rules", meterRegistry);
+    }
 
     public Mono<List<Action>> getAllActions() { // TODO 본인 사이트만 조회 가능하도록 수정
         return actionRepository.getAllActions();
@@ -25,34 +54,104 @@ public class ActionService {
     }
 
     public Mono<Action> getActionById(final Long actionId) {
-        return actionRepository.getActionById(actionId)
-                .switchIfEmpty(Mono.error(CoreException.of(ErrorType.ACTION_NOT_FOUND, "Action을 찾을 수 없습니다. actionId: " + actionId)));
+        var action = actionSnapshotManager.current().getAction(actionId);
+        if (action != null) { // 스냅샷에 있다면 Redis 조회 없이 반환
+            return Mono.just(action);
+        }
+        return actionFlight.execute(actionId, () -> actionRepository.getActionById(actionId)
+                .switchIfEmpty(Mono.error(CoreException.of(ErrorType.ACTION_NOT_FOUND, "Action을 찾을 수 없습니다. actionId: " + actionId))));
     }
 
     public Mono<Action> getActionByLandingId(String landingId) {
-        return actionRepository.getActionIdByLandingId(landingId)
-                .flatMap(actionId -> getActionById(Long.valueOf(actionId)));
+        var action = actionSnapshotManager.current().getActionByLandingId(landingId);
+        if (action != null) {
+            return Mono.just(action);
+        }
+        return landingFlight.execute(landingId, () -> actionRepository.getActionIdByLandingId(landingId)
+                .flatMap(actionId -> getActionById(Long.valueOf(actionId))));
     }
 
     public Mono<ActionGroup> getActionGroupById(final Long actionGroupId) {
-        return actionRepository.getActionGroupById(actionGroupId)
-                .switchIfEmpty(Mono.error(CoreException.of(ErrorType.ACTION_GROUP_NOT_FOUND, "Action Group을 찾을 수 없습니다. actionGroupId: " + actionGroupId)));
+        var actionGroup = actionSnapshotManager.current().getActionGroup(actionGroupId);
+        if (actionGroup != null) {
+            return Mono.just(actionGroup);
+        }
+        return actionGroupFlight.execute(actionGroupId, () -> actionRepository.getActionGroupById(actionGroupId)
+                .switchIfEmpty(Mono.error(CoreException.of(ErrorType.ACTION_GROUP_NOT_FOUND, "Action Group을 찾을 수 없습니다. actionGroupId: " + actionGroupId))));
     }
 
-    public Mono<ActionConfig> getActionConfig(String version) {
-        return actionRepository.getCurrentActionVersion()
-                .flatMap(currentVersion -> {
-                    if (currentVersion != null && currentVersion.equals(version)) {
-                        return Mono.error(CoreException.of(ErrorType.NOT_MODIFIED));
-                    }
-                    return getAllEnabledActions()
-                            .map(actions -> ActionConfig.builder()
-                                    .actions(actions)
-                                    .version(currentVersion)
-                                    .systemStatus(SystemStatus.RUNNING) // TODO SystemStatus.ON 시스템 상태 반환기능 없음. 구현필요
-                                    .build()
-                            );
+    /**
+     * Action의 ActionRule로 요청 URL의 대기열 적용 여부를 판단합니다.
+     * 스냅샷 적재 시 컴파일된 규칙을 사용하고, 스냅샷에 없는 Action이라면 스냅샷 적재와 같은 방식으로 규칙을 조회해 컴파일합니다.
+     * 규칙을 조회하지 못했다면 대기열 적용 대상으로 판단합니다. (INCLUDE 규칙이 빠져 대기열 없이 통과되는 것을 방지)
+     *
+     * @param destinationUrl 쿼리 스트링을 포함한 요청 URL
+     * @return 대기열 적용 대상이라면 true
+     */
+    public Mono<Boolean> isRequestSubjectToQueue(Action action, String destinationUrl) {
+        var actionRules = actionSnapshotManager.current().getActionRules(action.getId());
+        if (actionRules != null) {
+            return Mono.just(actionRules.isRequestSubjectToQueue(destinationUrl));
+        }
+        if (action.getActionRules() != null || action.getDefaultRuleType() == null || action.getDefaultRuleType() == DefaultRuleType.ALL) {
+            var rules = action.getActionRules() != null ? action.getActionRules() : List.<ActionRule>of();
+            return Mono.just(CompiledActionRules.compile(action.getDefaultRuleType(), rules).isRequestSubjectToQueue(destinationUrl));
+        }
+        return actionRulesFlight.execute(action.getId(), () -> actionRuleRepository.findByActionId(action.getId())
+                        .collectList()
+                        .map(rules -> CompiledActionRules.compile(action.getDefaultRuleType(), rules)))
+                .map(compiled -> compiled.isRequestSubjectToQueue(destinationUrl))
+                .onErrorResume(e -> {
+                    log.warn("action rules not loaded. request is subject to queue. actionId: {}", action.getId(), e);
+                    return Mono.just(true);
                 });
     }
 
-}
\ No newline at end of file
+    /**
+     * 현재 version의 ActionConfig를 조회합니다. version이 아직 없다면 empty를 반환합니다.
+     */
+    public Mono<ActionConfig> getCurrentActionConfig() {
+        return actionRepository.getCurrentActionVersion()
+                .flatMap(this::getActionConfigByVersion);
+    }
+
+    /**
+     * version 별로 ActionConfig를 한 번만 만들고, 같은 version을 요청한 다른 클라이언트에게는 만들어둔 결과를 반환합니다.
+     * 만드는 도중 들어온 요청도 같은 결과를 기다리며, 실패한 경우 다음 요청에서 다시 만듭니다.
+     */
+    private Mono<ActionConfig> getActionConfigByVersion(String version) {
+        var cached = actionConfigCache.get();
+        if (cached != null && cached.version().equals(version)) {
+            return cached.config();
+        }
+        var created = new VersionedActionConfig(version, buildActionConfig(version).cache());
+        if (!actionConfigCache.compareAndSet(cached, created)) {
+            var current = actionConfigCache.get();
+            if (current != null && current.version().equals(version)) { // 다른 요청이 먼저 만들기 시작함
+                return current.config();
+            }
+        }
+        return created.config()
+                .doOnError(e -> actionConfigCache.compareAndSet(created, null));
+    }
+
+    private Mono<ActionConfig> buildActionConfig(String version) {
+        var snapshot = actionSnapshotManager.findByVersion(version);
+        Mono<List<Action>> actions = snapshot != null // 같은 version의 스냅샷이 있다면 Redis 조회 없이 사용
+                ? Mono.just(snapshot.allActions().stream()
+                        .filter(Action::isEnabled)
+                        .sorted(Comparator.comparing(Action::getId))
+                        .toList())
+                : actionRepository.getAllEnabledActions(version);
+        return actions.map(enabledActions -> ActionConfig.builder()
+                .actions(enabledActions)
+                .version(version)
+                .systemStatus(SystemStatus.RUNNING) // TODO SystemStatus.ON 시스템 상태 반환기능 없음. 구현필요
+                .build()
+        );
+    }
+
+    private record VersionedActionConfig(String version, Mono<ActionConfig> config) {
+    }
+
+}
@@ -0,0 +1,135 @@
+package com.winten.greenlight.core.domain.action;
+
+import com.winten.greenlight.core.support.util.rule.CompiledActionRules;
+import lombok.Getter;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 특정 action version 시점의 Action, ActionGroup, 랜딩 매핑 정보를 담는 불변 스냅샷입니다.
+ * 노드 로컬 메모리에 보관되며, 조회 시 Redis I/O 없이 사용됩니다.
+ *
+ * @see ActionSnapshotManager 스냅샷의 적재 및 교체를 담당합니다.
+ */
+@Getter
+public class ActionSnapshot {
+    private static final ActionSnapshot EMPTY = new ActionSnapshot(null, Map.of(), Map.of(), Map.of(), Map.of());
+
+    /**
+     * 스냅샷이 적재된 시점의 action version 입니다.
+     */
+    private final String version;
+
+    /**
+     * key: actionId
+     */
+    private final Map<Long, Action> actions;
+
+    /**
+     * key: actionGroupId
+     */
+    private final Map<Long, ActionGroup> actionGroups;
+
+    /**
+     * key: landingId, value: actionId
+     */
+    private final Map<String, Long> landingActionIds;
+
+    /**
+     * key: actionId, 스냅샷 적재 시 컴파일된 ActionRule
+     */
+    private final Map<Long, CompiledActionRules> actionRules;
+
+    public ActionSnapshot(String version, Map<Long, Action> actions, Map<Long, ActionGroup> actionGroups, Map<String, Long> landingActionIds,
+                          Map<Long, CompiledActionRules> actionRules) {
+        this.version = version;
+        this.actions = Map.copyOf(actions);
+        this.actionGroups = Map.copyOf(actionGroups);
+        this.landingActionIds = Map.copyOf(landingActionIds);
+        this.actionRules = Map.copyOf(actionRules);
+    }
+
+    public static ActionSnapshot empty() {
+        return EMPTY;
+    }
+
+    public boolean isEmpty() {
+        return version == null;
+    }
+
+    public Action getAction(Long actionId) {
+        return actionId != null ? actions.get(actionId) : null;
+    }
+
+    public ActionGroup getActionGroup(Long actionGroupId) {
+        return actionGroupId != null ? actionGroups.get(actionGroupId) : null;
+    }
+
+    public Action getActionByLandingId(String landingId) {
+        if (landingId == null) {
+            return null;
+        }
+        return getAction(landingActionIds.get(landingId));
+    }
+
+    public CompiledActionRules getActionRules(Long actionId) {
+        return actionId != null ? actionRules.get(actionId) : null;
+    }
+
+    public Collection<Action> allActions() {
+        return actions.values();
+    }
+
+    /**
+     * Action 하나를 교체(혹은 추가)한 스냅샷을 반환합니다. 랜딩 매핑도 교체된 Action 기준으로 갱신합니다.
+     * version은 유지되며, 다음 version 변경 시 전체 적재로 대체됩니다.
+     */
+    public ActionSnapshot withAction(Action action, CompiledActionRules compiledRules) {
+        var newActions = new HashMap<>(actions);
+        newActions.put(action.getId(), action);
+        var newLandingActionIds = landingActionIdsWithout(action.getId());
+        if (action.getLandingId() != null) {
+            newLandingActionIds.put(action.getLandingId(), action.getId());
+        }
+        var newActionRules = new HashMap<>(actionRules);
+        newActionRules.put(action.getId(), compiledRules);
+        return new ActionSnapshot(version, newActions, actionGroups, newLandingActionIds, newActionRules);
+    }
+
+    /**
+     * Action 하나를 제거한 스냅샷을 반환합니다.
+     */
+    public ActionSnapshot withoutAction(Long actionId) {
+        var newActions = new HashMap<>(actions);
+        newActions.remove(actionId);
+        var newActionRules = new HashMap<>(actionRules);
+        newActionRules.remove(actionId);
+        return new ActionSnapshot(version, newActions, actionGroups, landingActionIdsWithout(actionId), newActionRules);
+    }
+
+    /**
+     * ActionGroup 하나를 교체(혹은 추가)한 스냅샷을 반환합니다.
+     */
+    public ActionSnapshot withActionGroup(ActionGroup actionGroup) {
+        var newActionGroups = new HashMap<>(actionGroups);
+        newActionGroups.put(actionGroup.getId(), actionGroup);
+        return new ActionSnapshot(version, actions, newActionGroups, landingActionIds, actionRules);
+    }
+
+    /**
+     * ActionGroup 하나를 제거한 스냅샷을 반환합니다.
+     */
+    public ActionSnapshot withoutActionGroup(Long actionGroupId) {
+        var newActionGroups = new HashMap<>(actionGroups);
+        newActionGroups.remove(actionGroupId);
+        return new ActionSnapshot(version, actions, newActionGroups, landingActionIds, actionRules);
+    }
+
+    private Map<String, Long> landingActionIdsWithout(Long actionId) {
+        var newLandingActionIds = new HashMap<>(landingActionIds);
+        newLandingActionIds.values().removeIf(actionId::equals);
+        return newLandingActionIds;
+    }
+}
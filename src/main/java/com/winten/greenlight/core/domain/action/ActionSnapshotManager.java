@@ -0,0 +1,201 @@
+package com.winten.greenlight.core.domain.action;
+
+import com.winten.greenlight.core.db.repository.redis.action.ActionRepository;
+import com.winten.greenlight.core.db.repository.redis.action.ActionRuleRepository;
+import com.winten.greenlight.core.support.cache.LocalCacheConfig;
+import com.winten.greenlight.core.support.error.CoreException;
+import com.winten.greenlight.core.support.error.ErrorType;
+import com.winten.greenlight.core.support.util.rule.CompiledActionRules;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuples;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Action 설정 스냅샷을 노드 로컬에 적재하고, action version이 바뀔 때만 다시 적재합니다.
+ * 요청 처리 경로에서는 {@link #current()}로 스냅샷을 읽기만 하므로 Redis I/O가 발생하지 않습니다.
+ * config 변경 채널로 변경 알림({@link ConfigChangeEvent})을 받으면 해당 Action, ActionGroup만 즉시 다시 적재하며,
+ * 주기적인 version 확인은 알림이 유실된 경우를 위한 안전장치로 유지됩니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ActionSnapshotManager {
+    private final ActionRepository actionRepository;
+    private final ActionRuleRepository actionRuleRepository;
+    private final ConfigVersionContextHolder configVersionContextHolder;
+    private final CacheManager cacheManager;
+
+    @Value("${greenlight.action-snapshot.refresh-interval:1s}")
+    private Duration refreshInterval;
+
+    @Value("${greenlight.action-snapshot.change-subscription.enabled:true}")
+    private boolean changeSubscriptionEnabled;
+
+    private final AtomicReference<ActionSnapshot> current = new AtomicReference<>(ActionSnapshot.empty());
+
+    private Disposable refreshLoop;
+
+    @PostConstruct
+    // 서비스 시작 시 단일 interval 생성, version key 만 확인하고 변경된 경우에만 전체 적재
+    // 변경 알림도 같은 loop에서 순서대로 처리하여, 전체 적재가 먼저 읽은 이전 값으로 개별 갱신을 덮어쓰지 않도록 한다
+    public void startRefreshLoop() {
+        Flux<Mono<ActionSnapshot>> refreshTasks = Flux.interval(Duration.ZERO, refreshInterval)
+                .onBackpressureDrop()
+                .map(tick -> Mono.defer(this::refreshIfChanged));
+        Flux<Mono<ActionSnapshot>> changeTasks = changeSubscriptionEnabled
+                ? actionRepository.listenConfigChanges()
+                        .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1)).maxBackoff(Duration.ofSeconds(30))
+                                .doBeforeRetry(signal -> log.warn("config change subscription lost. resubscribing.", signal.failure())))
+                        .onBackpressureBuffer(1_000, event -> log.warn("config change event dropped. event: {}", event)) // 유실되더라도 version 확인으로 복구
+                        .map(event -> Mono.defer(() -> applyChange(event)))
+                : Flux.empty();
+        refreshLoop = Flux.merge(refreshTasks, changeTasks)
+                .concatMap(task -> task
+                        .onErrorResume(e -> {
+                            log.error("failed to refresh action snapshot", e);
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stopRefreshLoop() {
+        if (refreshLoop != null) {
+            refreshLoop.dispose();
+        }
+    }
+
+    /**
+     * 현재 노드에 적재된 스냅샷을 반환합니다. 아직 적재되지 않았다면 빈 스냅샷을 반환합니다.
+     */
+    public ActionSnapshot current() {
+        return current.get();
+    }
+
+    /**
+     * 지정한 version의 스냅샷이 로컬에 남아있다면 반환합니다.
+     */
+    public ActionSnapshot findByVersion(String version) {
+        if (version == null) {
+            return null;
+        }
+        return snapshotCache().get(version, ActionSnapshot.class);
+    }
+
+    /**
+     * Redis의 action version이 로컬 version과 다를 때만 스냅샷을 다시 적재합니다.
+     */
+    public Mono<ActionSnapshot> refreshIfChanged() {
+        return actionRepository.getCurrentActionVersion()
+                .filter(version -> !configVersionContextHolder.isCurrentVersion(version))
+                .flatMap(this::load);
+    }
+
+    /**
+     * 변경 알림을 받은 Action 혹은 ActionGroup만 다시 조회하여 현재 스냅샷에 반영합니다.
+     * Redis에서 찾을 수 없다면 삭제된 것으로 보고 스냅샷에서 제거합니다. 아직 스냅샷이 적재되지 않았다면 무시합니다.
+     */
+    public Mono<ActionSnapshot> applyChange(ConfigChangeEvent event) {
+        if (current().isEmpty()) {
+            return Mono.empty();
+        }
+        var changed = switch (event.target()) {
+            case ACTION -> actionRepository.getActionById(event.id())
+                    .flatMap(action -> loadActionRules(action)
+                            .map(rules -> current().withAction(action, CompiledActionRules.compile(action.getDefaultRuleType(), rules))))
+                    .onErrorResume(CoreException.class, e -> e.getErrorType() == ErrorType.ACTION_NOT_FOUND
+                            ? Mono.fromSupplier(() -> current().withoutAction(event.id()))
+                            : Mono.error(e));
+            case ACTION_GROUP -> actionRepository.getActionGroupById(event.id())
+                    .map(actionGroup -> current().withActionGroup(actionGroup))
+                    .onErrorResume(CoreException.class, e -> e.getErrorType() == ErrorType.ACTION_GROUP_NOT_FOUND
+                            ? Mono.fromSupplier(() -> current().withoutActionGroup(event.id()))
+                            : Mono.error(e));
+        };
+        return changed.doOnNext(snapshot -> {
+            current.set(snapshot);
+            log.info("action snapshot updated. version: {}, target: {}, id: {}", snapshot.getVersion(), event.target(), event.id());
+        });
+    }
+
+    private Mono<ActionSnapshot> load(String version) {
+        return actionRepository.getAllActions(version)
+                .flatMap(actions -> Mono.zip(loadActionGroups(actions), loadLandingMappings(actions), compileActionRules(actions))
+                        .map(tuple -> new ActionSnapshot(
+                                version,
+                                actions.stream().collect(Collectors.toMap(Action::getId, Function.identity(), (a, b) -> b)),
+                                tuple.getT1(),
+                                tuple.getT2(),
+                                tuple.getT3()
+                        )))
+                .doOnNext(snapshot -> {
+                    snapshotCache().put(version, snapshot);
+                    current.set(snapshot);
+                    configVersionContextHolder.set(version);
+                    log.info("action snapshot loaded. version: {}, actions: {}, actionGroups: {}, landings: {}",
+                            version, snapshot.getActions().size(), snapshot.getActionGroups().size(), snapshot.getLandingActionIds().size());
+                });
+    }
+
+    private Mono<Map<Long, ActionGroup>> loadActionGroups(List<Action> actions) {
+        return Flux.fromStream(actions.stream().map(Action::getActionGroupId).filter(Objects::nonNull).distinct())
+                .flatMap(actionGroupId -> actionRepository.getActionGroupById(actionGroupId)
+                        .onErrorResume(e -> {
+                            log.warn("action group not loaded into snapshot. actionGroupId: {}", actionGroupId);
+                            return Mono.empty();
+                        }))
+                .collectMap(ActionGroup::getId, Function.identity(), HashMap::new);
+    }
+
+    private Mono<Map<String, Long>> loadLandingMappings(List<Action> actions) {
+        return Flux.fromStream(actions.stream().map(Action::getLandingId).filter(Objects::nonNull).distinct())
+                .flatMap(landingId -> actionRepository.getActionIdByLandingId(landingId)
+                        .map(actionId -> Tuples.of(landingId, Long.valueOf(actionId))))
+                .collectMap(tuple -> tuple.getT1(), tuple -> tuple.getT2(), HashMap::new);
+    }
+
+    /**
+     * Action에 포함된 ActionRule을 컴파일합니다. Action에 규칙이 없다면 action-rules 저장소에서 조회합니다.
+     */
+    private Mono<Map<Long, CompiledActionRules>> compileActionRules(List<Action> actions) {
+        return Flux.fromIterable(actions)
+                .flatMap(action -> loadActionRules(action)
+                        .map(rules -> Tuples.of(action.getId(), CompiledActionRules.compile(action.getDefaultRuleType(), rules))))
+                .collectMap(tuple -> tuple.getT1(), tuple -> tuple.getT2(), HashMap::new);
+    }
+
+    private Mono<List<ActionRule>> loadActionRules(Action action) {
+        if (action.getActionRules() != null || action.getDefaultRuleType() == null || action.getDefaultRuleType() == DefaultRuleType.ALL) {
+            return Mono.just(action.getActionRules() != null ? action.getActionRules() : List.of());
+        }
+        return actionRuleRepository.findByActionId(action.getId())
+                .collectList()
+                .onErrorResume(e -> {
+                    log.warn("action rules not loaded into snapshot. actionId: {}", action.getId());
+                    return Mono.just(List.of());
+                });
+    }
+
+    private Cache snapshotCache() {
+        return Objects.requireNonNull(cacheManager.getCache(LocalCacheConfig.ACTION_SNAPSHOT_CACHE));
+    }
+}
@@ -0,0 +1,16 @@
+package com.winten.greenlight.core.domain.action;
+
+/**
+ * Action 혹은 ActionGroup 설정이 변경되었음을 알리는 이벤트입니다.
+ * 관리 서버가 설정을 변경한 직후 config 변경 채널(pub/sub)로 발행하며, 각 노드는 해당 항목만 다시 적재합니다.
+ * (예: {"target":"ACTION","id":12})
+ *
+ * @param target 변경된 설정 종류
+ * @param id     변경된 Action 혹은 ActionGroup의 ID
+ */
+public record ConfigChangeEvent(Target target, Long id) {
+    public enum Target {
+        ACTION,
+        ACTION_GROUP
+    }
+}
@@ -21,6 +21,7 @@ public class CustomerSession {
     private Long accessCount;
     private String destinationUrl;
     private Long waitTimeMs;
+    private Long ticketNo; // greenlight.queue.position-mode: SEQUENCE 에서 WAITING 진입 시 발급된 티켓 번호
     private LocalDateTime landingStartAt;
     private LocalDateTime landingEndAt;
 
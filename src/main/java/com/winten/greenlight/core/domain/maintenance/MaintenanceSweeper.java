@@ -0,0 +1,174 @@
+package com.winten.greenlight.core.domain.maintenance;
+
+import com.winten.greenlight.core.db.repository.redis.maintenance.MaintenanceRepository;
+import com.winten.greenlight.core.db.repository.redis.maintenance.TrimResult;
+import com.winten.greenlight.core.domain.action.ActionSnapshotManager;
+import com.winten.greenlight.core.domain.customer.WaitStatus;
+import com.winten.greenlight.core.support.util.RedisKeyBuilder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 정리하는 곳 없이 계속 늘어나는 ZSET(ENTERED 대기열, 동시접속자 세션, 이전 방식의 요청/입장 기록)을 조금씩 정리합니다. (greenlight.maintenance.enabled)
+ * sweep-interval 마다 키별로 보관 기간이 지난 멤버를 batch-size 개씩, 최대 max-batches-per-run 번까지만 제거하므로
+ * 긴 판매 기간 동안 쌓인 키도 Redis를 오래 점유하지 않고 여러 주기에 걸쳐 정리됩니다.
+ * 키마다 Redis lock으로 정리 노드 하나를 정하며, 정리 노드가 종료되면 lock TTL 이후 다른 노드가 이어받습니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MaintenanceSweeper {
+    private final MaintenanceRepository maintenanceRepository;
+    private final ActionSnapshotManager actionSnapshotManager;
+    private final RedisKeyBuilder redisKeyBuilder;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${greenlight.maintenance.enabled:false}")
+    private boolean enabled;
+
+    @Value("${greenlight.maintenance.sweep-interval:10s}")
+    private Duration sweepInterval;
+
+    /**
+     * 한 번의 스크립트 호출로 제거할 최대 멤버 수
+     */
+    @Value("${greenlight.maintenance.batch-size:1000}")
+    private int batchSize;
+
+    /**
+     * 한 주기에 키 하나를 정리할 최대 호출 수, 남은 멤버는 다음 주기에 이어서 정리
+     */
+    @Value("${greenlight.maintenance.max-batches-per-run:10}")
+    private int maxBatchesPerRun;
+
+    /**
+     * 동시에 정리할 최대 키 수
+     */
+    @Value("${greenlight.maintenance.concurrency:4}")
+    private int concurrency;
+
+    @Value("${greenlight.maintenance.lock-ttl:60s}")
+    private Duration lockTtl;
+
+    @Value("${greenlight.maintenance.retention.entered:1h}")
+    private Duration enteredRetention;
+
+    @Value("${greenlight.maintenance.retention.session:10m}")
+    private Duration sessionRetention;
+
+    @Value("${greenlight.maintenance.retention.traffic-log:10m}")
+    private Duration trafficLogRetention;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    // key: 정리 대상 종류, 메트릭 tag로 사용
+    private final Map<String, Counter> reclaimedCounters = new ConcurrentHashMap<>();
+    private final Map<String, DistributionSummary> backlogSummaries = new ConcurrentHashMap<>();
+
+    private Disposable sweepLoop;
+
+    @PostConstruct
+    public void startSweepLoop() {
+        if (!enabled) {
+            return;
+        }
+        log.info("redis maintenance sweeper started. nodeId: {}, interval: {}", nodeId, sweepInterval);
+        sweepLoop = Flux.interval(sweepInterval)
+                .onBackpressureDrop()
+                .concatMap(tick -> sweepAll()
+                        .onErrorResume(e -> {
+                            log.error("failed to sweep redis maintenance targets", e);
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stopSweepLoop() {
+        if (sweepLoop != null) {
+            sweepLoop.dispose();
+        }
+    }
+
+    private Mono<Void> sweepAll() {
+        long now = System.currentTimeMillis();
+        return Flux.fromIterable(targets(now))
+                .flatMap(target -> sweep(target)
+                        .onErrorResume(e -> {
+                            log.warn("failed to sweep redis key. key: {}", target.key(), e);
+                            return Mono.empty();
+                        }), concurrency)
+                .then();
+    }
+
+    /**
+     * 이번 주기에 정리할 키 목록, 키 레이아웃 전환 중에는 이전(V1) 키도 함께 정리합니다.
+     */
+    private List<Target> targets(long now) {
+        List<RedisKeyBuilder> builders = redisKeyBuilder.isLegacyDualRead()
+                ? List.of(redisKeyBuilder, redisKeyBuilder.legacy())
+                : List.of(redisKeyBuilder);
+        List<Target> targets = new ArrayList<>();
+        targets.add(new Target("session", redisKeyBuilder.actionGroupSession(), now - sessionRetention.toMillis()));
+        for (Long actionGroupId : actionSnapshotManager.current().getActionGroups().keySet()) {
+            for (RedisKeyBuilder builder : builders) {
+                targets.add(new Target("entered", builder.queue(actionGroupId, WaitStatus.ENTERED), now - enteredRetention.toMillis()));
+                targets.add(new Target("request_log", builder.actionGroupRequestLog(actionGroupId), now - trafficLogRetention.toMillis()));
+                targets.add(new Target("access_log", builder.actionGroupAccessLog(actionGroupId), now - trafficLogRetention.toMillis()));
+            }
+        }
+        return targets;
+    }
+
+    /**
+     * 키 하나를 batch-size 단위로 정리합니다. 다른 노드가 정리 중이거나 남은 멤버가 없다면 멈춥니다.
+     */
+    private Mono<Void> sweep(Target target) {
+        return Flux.range(0, maxBatchesPerRun)
+                .concatMap(batch -> maintenanceRepository.trimByScore(target.key(), nodeId, lockTtl, target.maxScore(), batchSize))
+                .takeUntil(result -> !result.owner() || result.remaining() == 0L)
+                .filter(TrimResult::owner)
+                .reduce((sum, result) -> new TrimResult(true, sum.removed() + result.removed(), result.remaining()))
+                .doOnNext(result -> {
+                    if (result.removed() > 0) {
+                        reclaimedCounter(target.type()).increment(result.removed());
+                        log.debug("redis key trimmed. key: {}, removed: {}, remaining: {}", target.key(), result.removed(), result.remaining());
+                    }
+                    backlogSummary(target.type()).record(result.remaining()); // 이번 주기에 다 정리하지 못한 양, 계속 쌓인다면 batch-size 또는 max-batches-per-run 조정
+                })
+                .then();
+    }
+
+    private Counter reclaimedCounter(String type) {
+        return reclaimedCounters.computeIfAbsent(type, t -> meterRegistry.counter("greenlight.maintenance.reclaimed", "target", t));
+    }
+
+    private DistributionSummary backlogSummary(String type) {
+        return backlogSummaries.computeIfAbsent(type, t -> meterRegistry.summary("greenlight.maintenance.backlog", "target", t));
+    }
+
+    /**
+     * @param type     정리 대상 종류 (메트릭 tag)
+     * @param key      정리할 ZSET 키
+     * @param maxScore 이 score(epoch millis) 이하의 멤버 제거
+     */
+    private record Target(String type, String key, long maxScore) {
+    }
+}
@@ -0,0 +1,158 @@
+package com.winten.greenlight.core.domain.queue;
+
+import com.winten.greenlight.core.db.repository.redis.queue.QueueRepository;
+import com.winten.greenlight.core.domain.action.ActionGroup;
+import com.winten.greenlight.core.support.util.RedisKeyBuilder;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * ActionGroup의 초당 입장 허용량(maxTrafficPerSecond) 중 일부를 Redis에서 임대해 노드 로컬 크레딧으로 보관합니다.
+ * 크레딧이 남아있는 동안에는 Redis 조회 없이 READY 입장을 허용하고, 크레딧이 소진되면 다시 임대하거나 Redis에서 대기 여부를 판단합니다.
+ * 임대는 진입 스크립트와 같은 기준(WAITING 대기고객 수, 최근 초당 요청 수)으로 이루어지며, 임대량은 남은 요청 수 여유분을 넘지 않습니다.
+ * 임대 이후 WAITING 대기고객이 생긴 것을 노드가 확인하면 ({@link #revoke}) 남은 크레딧을 버리고 그 초에는 다시 임대하지 않으므로,
+ * 이후 진입한 고객이 대기중인 고객을 앞지르는 구간은 대기고객이 생긴 뒤 이를 확인하기까지로 한정됩니다.
+ * 임대는 초 단위로 이루어지므로 여러 노드가 함께 사용해도 그룹 전체 허용량을 넘지 않습니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AdmissionCreditManager {
+    private final QueueRepository queueRepository;
+    private final RedisKeyBuilder redisKeyBuilder;
+
+    @Value("${greenlight.admission-credit.enabled:false}")
+    private boolean enabled;
+
+    /**
+     * 한 번에 임대할 허용량 비율 (maxTrafficPerSecond 대비)
+     */
+    @Value("${greenlight.admission-credit.lease-ratio:0.1}")
+    private double leaseRatio;
+
+    // key: actionGroupId
+    private final Map<Long, GroupCredit> groupCredits = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void checkKeySchema() {
+        if (enabled && !redisKeyBuilder.isClusterSlotAligned()) { // 임대 스크립트는 허용량 버킷과 WAITING 대기열을 함께 조회
+            log.warn("admission credit is enabled but redis key schema {} does not co-locate action group keys. admission credit disabled.", redisKeyBuilder.schema());
+            enabled = false;
+        }
+    }
+
+    /**
+     * 입장 크레딧 1개를 사용합니다.
+     *
+     * @return Mono<Boolean> 크레딧을 확보했다면 true (대기 없이 입장 가능), 아니라면 false (Redis에서 대기 여부를 판단해야 함)
+     */
+    public Mono<Boolean> tryAcquire(ActionGroup actionGroup) {
+        var maxTrafficPerSecond = actionGroup.getMaxTrafficPerSecond();
+        if (!enabled || maxTrafficPerSecond == null || maxTrafficPerSecond <= 0) {
+            return Mono.just(false);
+        }
+        var credit = groupCredits.computeIfAbsent(actionGroup.getId(), id -> new GroupCredit());
+        var second = System.currentTimeMillis() / 1000L;
+        if (credit.tryConsume(second)) {
+            return Mono.just(true);
+        }
+        if (credit.isExhausted(second)) { // 이번 초에는 이미 임대에 실패했으므로 다시 요청하지 않는다
+            return Mono.just(false);
+        }
+        return credit.lease(second, () -> queueRepository.leaseAdmissionCredits(actionGroup.getId(), maxTrafficPerSecond, leaseSize(maxTrafficPerSecond), second))
+                .map(granted -> credit.tryConsume(second))
+                .onErrorResume(e -> {
+                    log.warn("failed to lease admission credits. actionGroupId: {}", actionGroup.getId(), e);
+                    return Mono.just(false);
+                });
+    }
+
+    /**
+     * WAITING 대기고객이 있는 것을 확인했을 때 호출하여, 노드에 남은 ActionGroup의 크레딧을 버립니다.
+     * 대기고객이 있는 동안 임대 스크립트는 크레딧을 내주지 않으므로, 이번 초에는 다시 임대하지 않습니다.
+     */
+    public void revoke(Long actionGroupId) {
+        var credit = groupCredits.get(actionGroupId);
+        if (credit != null) {
+            credit.revoke(System.currentTimeMillis() / 1000L);
+        }
+    }
+
+    private long leaseSize(int maxTrafficPerSecond) {
+        return Math.max(1L, (long) Math.ceil(maxTrafficPerSecond * leaseRatio));
+    }
+
+    /**
+     * ActionGroup 하나에 대한 노드 로컬 크레딧입니다. 크레딧은 임대받은 초 안에서만 유효합니다.
+     */
+    private static class GroupCredit {
+        private final AtomicLong remaining = new AtomicLong();
+        private volatile long second = -1L;
+        private volatile long exhaustedSecond = -1L;
+        private Mono<Long> leasing;
+        private long leasingSecond = -1L;
+
+        boolean tryConsume(long now) {
+            if (second != now) {
+                return false;
+            }
+            long current;
+            do {
+                current = remaining.get();
+                if (current <= 0) {
+                    return false;
+                }
+            } while (!remaining.compareAndSet(current, current - 1));
+            return true;
+        }
+
+        boolean isExhausted(long now) {
+            return exhaustedSecond == now;
+        }
+
+        synchronized void revoke(long now) {
+            remaining.set(0L);
+            second = now;
+            exhaustedSecond = now;
+        }
+
+        /**
+         * 같은 초에 동시에 들어온 임대 요청은 하나의 Redis 호출을 공유합니다.
+         */
+        synchronized Mono<Long> lease(long now, Supplier<Mono<Long>> leaser) {
+            if (leasing == null || leasingSecond != now) {
+                leasingSecond = now;
+                leasing = leaser.get()
+                        .doOnNext(granted -> grant(now, granted))
+                        .cache();
+            }
+            return leasing;
+        }
+
+        private synchronized void grant(long leasedSecond, long granted) {
+            if (exhaustedSecond == leasedSecond) { // 임대 중에 대기고객을 확인했다면 받은 크레딧도 사용하지 않는다
+                granted = 0L;
+            }
+            if (granted <= 0) {
+                exhaustedSecond = leasedSecond;
+            }
+            if (second != leasedSecond) { // 지난 초의 크레딧은 폐기
+                remaining.set(0L);
+                second = leasedSecond;
+                remaining.set(granted);
+            } else {
+                remaining.addAndGet(granted);
+            }
+            leasing = null;
+        }
+    }
+}
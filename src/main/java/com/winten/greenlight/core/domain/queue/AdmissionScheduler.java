@@ -0,0 +1,135 @@
+package com.winten.greenlight.core.domain.queue;
+
+import com.winten.greenlight.core.db.repository.redis.queue.AdmissionResult;
+import com.winten.greenlight.core.db.repository.redis.queue.QueueRepository;
+import com.winten.greenlight.core.domain.action.ActionGroup;
+import com.winten.greenlight.core.domain.action.ActionSnapshotManager;
+import com.winten.greenlight.core.domain.customer.WaitStatus;
+import com.winten.greenlight.core.support.publisher.ActionEventPublisher;
+import com.winten.greenlight.core.support.util.CustomerUtil;
+import com.winten.greenlight.core.support.util.RedisKeyBuilder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * WAITING 고객을 READY로 입장시키는 스케줄러입니다. (greenlight.admission-scheduler.enabled)
+ * ActionGroup마다 Redis lock으로 리더 노드 하나를 정하고, 리더만 tick 마다 maxTrafficPerSecond 를 tick 단위로 나눈 만큼 입장시킵니다.
+ * 리더가 종료되면 lock TTL 이후 다른 노드가 이어받습니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AdmissionScheduler {
+    private final QueueRepository queueRepository;
+    private final ActionSnapshotManager actionSnapshotManager;
+    private final ActionEventPublisher actionEventPublisher;
+    private final RedisKeyBuilder redisKeyBuilder;
+
+    @Value("${greenlight.admission-scheduler.enabled:false}")
+    private boolean enabled;
+
+    @Value("${greenlight.admission-scheduler.tick-interval:100ms}")
+    private Duration tickInterval;
+
+    @Value("${greenlight.admission-scheduler.lock-ttl:3s}")
+    private Duration lockTtl;
+
+    @Value("${greenlight.queue.admission-notification.enabled:true}")
+    private boolean notificationEnabled;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    // key: actionGroupId, value: 리더가 아닌 그룹에 대해 다음으로 lock 획득을 시도할 시간 (epoch millis)
+    private final Map<Long, Long> nextLeaderAttemptAt = new ConcurrentHashMap<>();
+
+    private Disposable admissionLoop;
+
+    @PostConstruct
+    public void startAdmissionLoop() {
+        if (!enabled) {
+            return;
+        }
+        if (!redisKeyBuilder.isClusterSlotAligned()) { // 입장 스크립트는 lock, 대기열, 상태 키를 함께 사용
+            log.warn("admission scheduler is enabled but redis key schema {} does not co-locate action group keys. admission scheduler disabled.", redisKeyBuilder.schema());
+            return;
+        }
+        log.info("admission scheduler started. nodeId: {}, tick: {}", nodeId, tickInterval);
+        admissionLoop = Flux.interval(tickInterval)
+                .onBackpressureDrop()
+                .concatMap(tick -> admitAll()
+                        .onErrorResume(e -> {
+                            log.error("failed to admit waiting customers", e);
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stopAdmissionLoop() {
+        if (admissionLoop != null) {
+            admissionLoop.dispose();
+        }
+    }
+
+    private Mono<Void> admitAll() {
+        return Flux.fromIterable(actionSnapshotManager.current().getActionGroups().values())
+                .filter(actionGroup -> Boolean.TRUE.equals(actionGroup.getEnabled())
+                        && actionGroup.getMaxTrafficPerSecond() != null
+                        && actionGroup.getMaxTrafficPerSecond() > 0)
+                .flatMap(actionGroup -> admit(actionGroup)
+                        .onErrorResume(e -> {
+                            log.warn("failed to admit waiting customers. actionGroupId: {}", actionGroup.getId(), e);
+                            return Mono.empty();
+                        }))
+                .then();
+    }
+
+    private Mono<Void> admit(ActionGroup actionGroup) {
+        var now = System.currentTimeMillis();
+        var nextAttemptAt = nextLeaderAttemptAt.get(actionGroup.getId());
+        if (nextAttemptAt != null && now < nextAttemptAt) { // 다른 노드가 리더인 그룹은 lock TTL 절반 주기로만 확인
+            return Mono.empty();
+        }
+        return queueRepository.admit(actionGroup.getId(), nodeId, lockTtl, actionGroup.getMaxTrafficPerSecond(), batchSize(actionGroup.getMaxTrafficPerSecond()))
+                .flatMap(result -> {
+                    if (!result.leader()) {
+                        nextLeaderAttemptAt.put(actionGroup.getId(), now + lockTtl.toMillis() / 2);
+                        return Mono.empty();
+                    }
+                    nextLeaderAttemptAt.remove(actionGroup.getId());
+                    return publishAdmitted(actionGroup.getId(), result);
+                });
+    }
+
+    // influxDB에 READY 이벤트 기록
+    private Mono<Void> publishAdmitted(Long actionGroupId, AdmissionResult result) {
+        var now = System.currentTimeMillis();
+        return Flux.fromIterable(result.admittedCustomerIds())
+                .flatMap(customerId -> actionEventPublisher.publish(WaitStatus.READY, actionGroupId, CustomerUtil.parseActionIdFromCustomerId(customerId), customerId, now))
+                .then(notificationEnabled ? queueRepository.publishAdmitted(actionGroupId, result.admittedCustomerIds()) : Mono.empty()) // 각 노드의 SSE 구독자에게 바로 READY 전달
+                .onErrorResume(e -> {
+                    log.warn("failed to publish admission notification. actionGroupId: {}", actionGroupId, e);
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    /**
+     * 초당 허용량을 tick 단위로 나누어 한 번에 몰려 입장하지 않도록 합니다.
+     */
+    private long batchSize(int maxTrafficPerSecond) {
+        return Math.max(1L, (long) Math.ceil(maxTrafficPerSecond * tickInterval.toMillis() / 1000.0));
+    }
+}
@@ -0,0 +1,134 @@
+package com.winten.greenlight.core.domain.queue;
+
+import com.winten.greenlight.core.db.repository.redis.customer.CustomerRepository;
+import com.winten.greenlight.core.domain.customer.CustomerSession;
+import com.winten.greenlight.core.support.ticket.EntryTicket;
+import com.winten.greenlight.core.support.ticket.EntryTicketSigner;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 입장이 확인된 고객에게 서명된 입장권을 발급하고, 이후 요청의 입장권을 Redis 조회 없이 검증합니다.
+ * 취소된 입장권은 Redis에 기록되며, 각 노드는 주기적으로 취소 목록을 로컬에 적재해 검증 시 함께 확인합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EntryTicketManager {
+    private final EntryTicketSigner entryTicketSigner;
+    private final CustomerRepository customerRepository;
+
+    @Value("${greenlight.entry-ticket.enabled:false}")
+    private boolean enabled;
+
+    @Value("${greenlight.entry-ticket.revocation-refresh-interval:5s}")
+    private Duration revocationRefreshInterval;
+
+    // 취소된 입장권의 customerId
+    private volatile Set<String> revokedCustomerIds = Set.of();
+    // 이 노드에서 취소했지만 아직 다음 적재에 반영되지 않은 customerId
+    private final Set<String> pendingRevocations = ConcurrentHashMap.newKeySet();
+
+    private Disposable revocationLoop;
+
+    @PostConstruct
+    public void startRevocationLoop() {
+        if (enabled && !entryTicketSigner.isConfigured()) {
+            log.warn("entry ticket is enabled but jwt.secret is not configured. entry ticket disabled.");
+            enabled = false;
+        }
+        if (!enabled) {
+            return;
+        }
+        revocationLoop = Flux.interval(Duration.ZERO, revocationRefreshInterval)
+                .onBackpressureDrop()
+                .concatMap(tick -> refreshRevocations()
+                        .onErrorResume(e -> {
+                            log.error("failed to refresh revoked entry tickets", e);
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stopRevocationLoop() {
+        if (revocationLoop != null) {
+            revocationLoop.dispose();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 입장이 확인된 고객의 입장권을 발급합니다. 기능이 비활성화되어 있다면 null을 반환합니다.
+     */
+    public String issue(CustomerSession customerSession) {
+        if (!enabled) {
+            return null;
+        }
+        var expiresAt = System.currentTimeMillis() / 1000L + entryTicketSigner.expiration().toSeconds();
+        return entryTicketSigner.sign(new EntryTicket(
+                customerSession.getActionId(),
+                customerSession.getActionGroupId(),
+                customerSession.getCustomerId(),
+                expiresAt
+        ));
+    }
+
+    /**
+     * 입장권을 검증합니다. 서명, 만료 시간, 고객 ID, Action ID, 취소 여부를 확인합니다.
+     *
+     * @return 유효한 입장권이라면 내용, 아니라면 null
+     */
+    public EntryTicket verify(String token, String customerId, Long actionId) {
+        if (!enabled || token == null) {
+            return null;
+        }
+        var ticket = entryTicketSigner.parse(token);
+        if (ticket == null
+                || ticket.isExpired(System.currentTimeMillis() / 1000L)
+                || !ticket.customerId().equals(customerId)
+                || !ticket.actionId().equals(actionId)
+                || revokedCustomerIds.contains(customerId)
+                || pendingRevocations.contains(customerId)) {
+            return null;
+        }
+        return ticket;
+    }
+
+    /**
+     * 고객의 입장권을 취소합니다. 다른 노드에는 다음 취소 목록 적재 시 반영됩니다.
+     */
+    public Mono<Boolean> revoke(String customerId) {
+        if (!enabled) {
+            return Mono.just(false);
+        }
+        pendingRevocations.add(customerId);
+        var expiresAt = System.currentTimeMillis() + entryTicketSigner.expiration().toMillis(); // 발급된 입장권이 모두 만료된 이후에는 취소 기록 불필요
+        return customerRepository.revokeEntryTicket(customerId, expiresAt);
+    }
+
+    private Mono<Void> refreshRevocations() {
+        return customerRepository.findRevokedEntryTickets()
+                .collect(HashSet<String>::new, Set::add)
+                .doOnNext(revoked -> {
+                    revokedCustomerIds = Set.copyOf(revoked);
+                    pendingRevocations.removeAll(revoked);
+                })
+                .then();
+    }
+}
@@ -0,0 +1,180 @@
+package com.winten.greenlight.core.domain.queue;
+
+import com.winten.greenlight.core.db.repository.redis.queue.QueueEntry;
+import com.winten.greenlight.core.db.repository.redis.queue.QueueEntryResult;
+import com.winten.greenlight.core.db.repository.redis.queue.QueueRepository;
+import com.winten.greenlight.core.domain.action.ActionGroup;
+import com.winten.greenlight.core.domain.customer.CustomerSession;
+import com.winten.greenlight.core.support.util.RedisKeyBuilder;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 같은 ActionGroup에 짧은 시간 안에 몰린 신규 진입 고객을 모아 한 번의 진입 스크립트 호출로 처리합니다.
+ * 첫 고객이 들어온 뒤 window 동안, 혹은 max-size 명이 모일 때까지 기다린 후 한 번에 기록하므로
+ * 티켓 오픈처럼 진입이 몰리는 순간 Redis 호출 수가 고객 수가 아닌 batch 수에 비례하게 됩니다.
+ * 스크립트는 batch 안의 고객을 진입 순서대로 한 명씩 판단하므로 대기 여부와 순번은 개별 호출과 같습니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class QueueEntryBatcher {
+    private final QueueRepository queueRepository;
+    private final RedisKeyBuilder redisKeyBuilder;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${greenlight.queue.entry-batch.enabled:false}")
+    private boolean enabled;
+
+    /**
+     * 첫 고객이 들어온 뒤 batch를 기록하기까지 기다리는 시간
+     */
+    @Value("${greenlight.queue.entry-batch.window:2ms}")
+    private Duration window;
+
+    /**
+     * batch 하나에 담을 최대 고객 수, 가득 차면 window를 기다리지 않고 바로 기록
+     */
+    @Value("${greenlight.queue.entry-batch.max-size:100}")
+    private int maxSize;
+
+    // key: actionGroupId
+    private final Map<Long, GroupBatch> groupBatches = new ConcurrentHashMap<>();
+
+    private DistributionSummary batchSizeSummary;
+
+    @PostConstruct
+    public void checkKeySchema() {
+        if (enabled && !redisKeyBuilder.isClusterSlotAligned()) { // 진입 스크립트는 여러 고객의 세션 키를 함께 사용
+            log.warn("entry batch is enabled but redis key schema {} does not co-locate action group keys. entry batch disabled.", redisKeyBuilder.schema());
+            enabled = false;
+        }
+        batchSizeSummary = meterRegistry.summary("greenlight.queue.entry_batch.size");
+    }
+
+    /**
+     * 신규 진입 고객을 batch에 추가하고, batch가 기록된 후 해당 고객의 진입 결과를 반환합니다.
+     * batch가 비활성화되어 있다면 바로 진입 스크립트를 호출합니다.
+     *
+     * @param actionGroup         고객이 진입한 ActionGroup
+     * @param maxTrafficPerSecond ActionGroup의 초당 최대 허용 고객 수 (스냅샷에 값이 없다면 Redis에서 조회한 값)
+     * @param session             저장할 고객 세션 (waitStatus는 스크립트에서 결정)
+     * @param preAdmitted         노드에서 이미 입장 허용량을 확보한 경우 true
+     * @return Mono<QueueEntryResult> 판단된 대기 상태와 순번
+     */
+    public Mono<QueueEntryResult> enter(ActionGroup actionGroup, Integer maxTrafficPerSecond, CustomerSession session, boolean preAdmitted) {
+        if (!enabled) {
+            return queueRepository.enter(session, maxTrafficPerSecond, QueueService.CUSTOMER_SESSION_TTL, preAdmitted);
+        }
+        return Mono.defer(() -> {
+            var pending = new PendingEntry(new QueueEntry(session, preAdmitted), Sinks.one());
+            var batch = groupBatches.computeIfAbsent(actionGroup.getId(), GroupBatch::new);
+            var full = batch.add(maxTrafficPerSecond, pending);
+            if (full != null) {
+                flush(actionGroup.getId(), full);
+            }
+            return pending.result().asMono();
+        });
+    }
+
+    private void flush(Long actionGroupId, Window window) {
+        var entries = window.entries;
+        batchSizeSummary.record(entries.size());
+        queueRepository.enterAll(actionGroupId, entries.stream().map(PendingEntry::entry).toList(), window.maxTrafficPerSecond, QueueService.CUSTOMER_SESSION_TTL)
+                .subscribe(
+                        results -> {
+                            for (int i = 0; i < entries.size(); i++) {
+                                var result = entries.get(i).result();
+                                if (i < results.size()) {
+                                    result.tryEmitValue(results.get(i));
+                                } else {
+                                    result.tryEmitError(new IllegalStateException("queue entry result missing. actionGroupId: " + actionGroupId));
+                                }
+                            }
+                        },
+                        e -> {
+                            log.error("failed to enter queue in batch. actionGroupId: {}, size: {}", actionGroupId, entries.size(), e);
+                            entries.forEach(entry -> entry.result().tryEmitError(e));
+                        },
+                        () -> entries.forEach(entry -> entry.result().tryEmitError( // 결과 없이 완료된 경우, 결과가 이미 전달된 고객에게는 무시됨
+                                new IllegalStateException("queue entry result missing. actionGroupId: " + actionGroupId)))
+                );
+    }
+
+    private record PendingEntry(QueueEntry entry, Sinks.One<QueueEntryResult> result) {
+    }
+
+    /**
+     * 하나의 진입 스크립트 호출로 기록될 고객 묶음입니다.
+     */
+    private static class Window {
+        private final List<PendingEntry> entries = new ArrayList<>();
+        private Integer maxTrafficPerSecond;
+        private boolean closed;
+    }
+
+    /**
+     * ActionGroup 하나의 현재 batch입니다. 첫 고객이 추가될 때 window 만료 후 기록을 예약합니다.
+     */
+    private class GroupBatch {
+        private final Long actionGroupId;
+        private Window current;
+
+        GroupBatch(Long actionGroupId) {
+            this.actionGroupId = actionGroupId;
+        }
+
+        /**
+         * @return batch가 가득 차서 바로 기록해야 한다면 해당 Window, 아니라면 null
+         */
+        synchronized Window add(Integer maxTrafficPerSecond, PendingEntry pending) {
+            if (current == null) {
+                var opened = new Window();
+                current = opened;
+                Schedulers.parallel().schedule(() -> expire(opened), window.toNanos(), TimeUnit.NANOSECONDS);
+            }
+            current.entries.add(pending);
+            current.maxTrafficPerSecond = maxTrafficPerSecond; // 가장 최근 설정값 사용
+            return current.entries.size() >= maxSize ? close(current) : null;
+        }
+
+        private void expire(Window expired) {
+            Window closed;
+            synchronized (this) {
+                closed = close(expired);
+            }
+            if (closed != null) {
+                flush(actionGroupId, closed);
+            }
+        }
+
+        /**
+         * Window를 닫고 새 고객은 다음 Window에 담습니다. 이미 닫힌 Window라면 null을 반환합니다.
+         */
+        private Window close(Window target) {
+            if (target.closed) {
+                return null;
+            }
+            target.closed = true;
+            if (current == target) {
+                current = null;
+            }
+            return target;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.winten.greenlight.core.domain.queue;
+
+import com.winten.greenlight.core.db.repository.redis.queue.QueueRepository;
+import com.winten.greenlight.core.domain.action.ActionSnapshotManager;
+import com.winten.greenlight.core.domain.customer.WaitStatus;
+import com.winten.greenlight.core.support.util.RedisKeyBuilder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 키 레이아웃 전환(redis.key-migration.dual-read) 중에 이전(V1) WAITING/READY 대기열의 고객을 새 레이아웃의 대기열로 옮깁니다.
+ * 진입 시간(score)을 유지한 채 옮기므로 기존 대기 순서가 그대로 보존됩니다.
+ * 여러 노드가 동시에 수행해도 같은 고객이 같은 score로 다시 추가될 뿐이므로 안전합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class QueueKeyMigrator {
+    private static final List<WaitStatus> MIGRATION_TARGETS = List.of(WaitStatus.WAITING, WaitStatus.READY);
+
+    private final RedisKeyBuilder redisKeyBuilder;
+    private final QueueRepository queueRepository;
+    private final ActionSnapshotManager actionSnapshotManager;
+
+    @Value("${redis.key-migration.interval:1s}")
+    private Duration migrationInterval;
+
+    @Value("${redis.key-migration.batch-size:500}")
+    private int batchSize;
+
+    private Disposable migrationLoop;
+
+    @PostConstruct
+    public void startMigrationLoop() {
+        if (!redisKeyBuilder.isLegacyDualRead()) {
+            return;
+        }
+        log.info("redis key migration started. schema: {}", redisKeyBuilder.schema());
+        migrationLoop = Flux.interval(migrationInterval)
+                .onBackpressureDrop()
+                .concatMap(tick -> migrateAll()
+                        .onErrorResume(e -> {
+                            log.error("failed to migrate legacy queue keys", e);
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stopMigrationLoop() {
+        if (migrationLoop != null) {
+            migrationLoop.dispose();
+        }
+    }
+
+    private Mono<Void> migrateAll() {
+        return Flux.fromIterable(actionSnapshotManager.current().getActionGroups().keySet())
+                .flatMap(actionGroupId -> Flux.fromIterable(MIGRATION_TARGETS)
+                        .concatMap(waitStatus -> queueRepository.migrateLegacyQueue(actionGroupId, waitStatus, batchSize)
+                                .filter(moved -> moved > 0)
+                                .doOnNext(moved -> log.info("legacy queue migrated. actionGroupId: {}, waitStatus: {}, moved: {}", actionGroupId, waitStatus, moved))))
+                .then();
+    }
+}
@@ -0,0 +1,183 @@
+package com.winten.greenlight.core.domain.queue;
+
+import com.winten.greenlight.core.db.repository.redis.queue.QueueRepository;
+import com.winten.greenlight.core.domain.action.ActionSnapshotManager;
+import com.winten.greenlight.core.domain.customer.WaitStatus;
+import com.winten.greenlight.core.support.publisher.ActionEventPublisher;
+import com.winten.greenlight.core.support.util.CustomerUtil;
+import com.winten.greenlight.core.support.util.RedisKeyBuilder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * WAITING 고객의 대기 임대(lease)를 관리합니다. (greenlight.queue.lease.enabled)
+ * 진입 및 SSE 연결(heartbeat 포함)로 확인된 고객을 노드에 모아 두었다가 renew-interval 마다 ActionGroup별 한 번의 ZADD로 임대를 갱신하고,
+ * 임대가 만료된 고객(탭을 닫는 등 이탈한 고객)은 sweep-interval 마다 sweep-batch-size 명씩 WAITING 대기열에서 제거한 뒤 CANCELLED 이벤트를 기록합니다.
+ * 임대가 한 번도 기록되지 않은 고객은 제거하지 않으며, 제거한 고객의 입장권은 함께 취소합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class QueueLeaseManager {
+    private final QueueRepository queueRepository;
+    private final ActionSnapshotManager actionSnapshotManager;
+    private final ActionEventPublisher actionEventPublisher;
+    private final EntryTicketManager entryTicketManager;
+    private final RedisKeyBuilder redisKeyBuilder;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${greenlight.queue.lease.enabled:false}")
+    private boolean enabled;
+
+    /**
+     * 마지막 갱신 이후 이 시간 동안 갱신되지 않으면 이탈한 고객으로 판단
+     */
+    @Value("${greenlight.queue.lease.ttl:60s}")
+    private Duration ttl;
+
+    @Value("${greenlight.queue.lease.renew-interval:10s}")
+    private Duration renewInterval;
+
+    @Value("${greenlight.queue.lease.sweep-interval:5s}")
+    private Duration sweepInterval;
+
+    /**
+     * ActionGroup당 한 번의 정리에서 제거할 최대 고객 수
+     */
+    @Value("${greenlight.queue.lease.sweep-batch-size:500}")
+    private int sweepBatchSize;
+
+    // key: actionGroupId, value: 다음 갱신 때 임대를 연장할 고객 ID
+    private final Map<Long, Set<String>> pendingRenewals = new ConcurrentHashMap<>();
+
+    private Disposable renewLoop;
+    private Disposable sweepLoop;
+
+    private Counter renewedCounter;
+    private Counter evictedCounter;
+
+    @PostConstruct
+    public void startLeaseLoops() {
+        if (!enabled) {
+            return;
+        }
+        if (!redisKeyBuilder.isClusterSlotAligned()) { // 정리 스크립트는 대기열, 취소 티켓, 임대 키를 함께 사용
+            log.warn("queue lease is enabled but redis key schema {} does not co-locate action group keys. queue lease disabled.", redisKeyBuilder.schema());
+            enabled = false;
+            return;
+        }
+        renewedCounter = meterRegistry.counter("greenlight.queue.lease.renewed");
+        evictedCounter = meterRegistry.counter("greenlight.queue.lease.evicted");
+        renewLoop = Flux.interval(renewInterval)
+                .onBackpressureDrop()
+                .concatMap(tick -> renewAll()
+                        .onErrorResume(e -> {
+                            log.error("failed to renew queue leases", e);
+                            return Mono.empty();
+                        }))
+                .subscribe();
+        sweepLoop = Flux.interval(sweepInterval)
+                .onBackpressureDrop()
+                .concatMap(tick -> sweepAll()
+                        .onErrorResume(e -> {
+                            log.error("failed to sweep expired queue leases", e);
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stopLeaseLoops() {
+        if (renewLoop != null) {
+            renewLoop.dispose();
+        }
+        if (sweepLoop != null) {
+            sweepLoop.dispose();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 임대 갱신 주기, 같은 고객을 이보다 자주 touch 할 필요는 없습니다.
+     */
+    public Duration renewInterval() {
+        return renewInterval;
+    }
+
+    /**
+     * 고객이 아직 대기 중임을 기록합니다. Redis 호출 없이 노드에 모아 두며, 다음 갱신 때 한 번에 반영됩니다.
+     */
+    public void touch(Long actionGroupId, String customerId) {
+        if (!enabled) {
+            return;
+        }
+        pendingRenewals.computeIfAbsent(actionGroupId, id -> ConcurrentHashMap.newKeySet()).add(customerId);
+    }
+
+    private Mono<Void> renewAll() {
+        long expiresAt = System.currentTimeMillis() + ttl.toMillis();
+        List<Mono<Long>> renewals = new ArrayList<>(pendingRenewals.size());
+        for (Long actionGroupId : pendingRenewals.keySet()) {
+            Set<String> customerIds = pendingRenewals.remove(actionGroupId);
+            if (customerIds == null || customerIds.isEmpty()) {
+                continue;
+            }
+            renewals.add(queueRepository.renewLeases(actionGroupId, customerIds, expiresAt, ttl.multipliedBy(2))
+                    .doOnNext(added -> renewedCounter.increment(customerIds.size()))
+                    .onErrorResume(e -> {
+                        log.warn("failed to renew queue leases. actionGroupId: {}, size: {}", actionGroupId, customerIds.size(), e);
+                        return Mono.empty();
+                    }));
+        }
+        return Flux.merge(renewals).then();
+    }
+
+    private Mono<Void> sweepAll() {
+        long expiredBefore = System.currentTimeMillis();
+        return Flux.fromIterable(actionSnapshotManager.current().getActionGroups().keySet())
+                .flatMap(actionGroupId -> sweep(actionGroupId, expiredBefore)
+                        .onErrorResume(e -> {
+                            log.warn("failed to sweep expired queue leases. actionGroupId: {}", actionGroupId, e);
+                            return Mono.empty();
+                        }))
+                .then();
+    }
+
+    /**
+     * 임대가 만료된 고객을 sweep-batch-size 명까지 제거합니다. 남은 고객은 다음 주기에 이어서 정리합니다.
+     */
+    private Mono<Void> sweep(Long actionGroupId, long expiredBefore) {
+        return queueRepository.findExpiredLeases(actionGroupId, expiredBefore, sweepBatchSize)
+                .flatMap(expired -> queueRepository.evictExpired(actionGroupId, expired, expiredBefore))
+                .flatMapMany(evicted -> {
+                    if (!evicted.isEmpty()) {
+                        evictedCounter.increment(evicted.size());
+                        log.info("evicted abandoned waiters. actionGroupId: {}, count: {}", actionGroupId, evicted.size());
+                    }
+                    return Flux.fromIterable(evicted);
+                })
+                .flatMap(customerId -> entryTicketManager.revoke(customerId)
+                        .then(actionEventPublisher.publish(WaitStatus.CANCELLED, actionGroupId,
+                                CustomerUtil.parseActionIdFromCustomerId(customerId), customerId, expiredBefore)))
+                .then();
+    }
+}
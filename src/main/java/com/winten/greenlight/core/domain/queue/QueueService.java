@@ -4,6 +4,7 @@ import com.winten.greenlight.core.api.controller.queue.TicketVerificationRespons
 import com.winten.greenlight.core.db.repository.redis.action.ActionRepository;
 import com.winten.greenlight.core.db.repository.redis.customer.CustomerRepository;
 import com.winten.greenlight.core.db.repository.redis.queue.QueueRepository;
+import com.winten.greenlight.core.db.repository.redis.traffic.VisitorCounterRepository;
 import com.winten.greenlight.core.domain.action.*;
 import com.winten.greenlight.core.domain.customer.CustomerSession;
 import com.winten.greenlight.core.domain.customer.WaitStatus;
@@ -13,8 +14,10 @@ import com.winten.greenlight.core.support.publisher.ActionEventPublisher;
 import com.winten.greenlight.core.support.util.CustomerUtil;
 import com.winten.greenlight.core.support.util.RedisKeyBuilder;
 import io.hypersistence.tsid.TSID;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
 
@@ -30,6 +33,7 @@ import java.time.LocalDateTime;
 @Service
 @RequiredArgsConstructor
 public class QueueService {
+    static final Duration CUSTOMER_SESSION_TTL = Duration.ofMinutes(5);
 
     private final RedisKeyBuilder redisKeyBuilder;
     private final QueueRepository queueRepository;
@@ -37,6 +41,17 @@ public class QueueService {
     private final ActionEventPublisher actionEventPublisher;
     private final CustomerRepository customerRepository;
     private final ActionService actionService;
+    private final AdmissionCreditManager admissionCreditManager;
+    private final EntryTicketManager entryTicketManager;
+    private final QueueEntryBatcher queueEntryBatcher;
+    private final QueueLeaseManager queueLeaseManager;
+    private final VisitorCounterRepository visitorCounterRepository;
+
+    @Value("${greenlight.queue.atomic-entry.enabled:false}")
+    private boolean atomicEntryEnabled;
+
+    @Value("${greenlight.queue.atomic-verify.enabled:false}")
+    private boolean atomicVerifyEnabled;
 
     /**
      * 사용자의 대기열 상태를 확인하고, 현재 상태에 따라 적절한 응답을 반환합니다.
@@ -62,6 +77,13 @@ public class QueueService {
         if (!action.isEnabled()) {
             return Mono.just(CustomerSession.bypassed());
         }
+        return actionService.isRequestSubjectToQueue(action, destinationUrl)
+                .flatMap(subjectToQueue -> subjectToQueue
+                        ? checkOrEnterActionGroupQueue(action, destinationUrl, oldCustomerId)
+                        : Mono.just(CustomerSession.bypassed())); // ActionRule에 따라 대기열 미적용 요청
+    }
+
+    private Mono<CustomerSession> checkOrEnterActionGroupQueue(Action action, final String destinationUrl, final String oldCustomerId) {
         return actionService.getActionGroupById(action.getActionGroupId())
             .flatMap(actionGroup -> {
                 if (!actionGroup.getEnabled()) {
@@ -88,7 +110,10 @@ public class QueueService {
 
                 String redirectTo = destinationUrl != null ? destinationUrl : action.getLandingDestinationUrl();
 
-                return handleNewEntry(actionGroup.getId(), action.getId(), redirectTo, customerKey);
+                if (atomicEntryEnabled && redisKeyBuilder.isClusterSlotAligned()) {
+                    return handleNewEntryAtomically(actionGroup, action.getId(), redirectTo, customerKey);
+                }
+                return handleNewEntry(actionGroup, action.getId(), redirectTo, customerKey);
             });
     }
 
@@ -98,11 +123,12 @@ public class QueueService {
      *
      * @return Mono<CustomerSession> 대기 상태 및 토큰 정보
      */
-    private Mono<CustomerSession> handleNewEntry(Long actionGroupId, Long actionId, String destinationUrl, String oldCustomerKey) {
+    private Mono<CustomerSession> handleNewEntry(ActionGroup actionGroup, Long actionId, String destinationUrl, String oldCustomerKey) {
+        Long actionGroupId = actionGroup.getId();
         String customerKey = oldCustomerKey != null ? oldCustomerKey : generateCustomerKey();
         String customerId = makeCustomerId(actionId, customerKey);
-        return actionRepository.getMaxTrafficPerSecond(actionGroupId)
-                .flatMap(maxTrafficPerSecond -> isWaitingRequired(actionGroupId, maxTrafficPerSecond)) // 현재 대기가 필요한 상황인지 확인
+        return getMaxTrafficPerSecond(actionGroup)
+                .flatMap(maxTrafficPerSecond -> isWaitingRequired(actionGroup, maxTrafficPerSecond)) // 현재 대기가 필요한 상황인지 확인
                 .flatMap(isWaitingRequired -> {
                     // 대기가 필요한 경우 status = WAITING
                     // 대기없이 바로 입장이 가능한 경우 status = READY
@@ -119,16 +145,90 @@ public class QueueService {
                             .waitStatus(status)
                             .build();
 
-                    return addUserToQueue(actionGroupId, customerId, status)
-                            .then(customerRepository.saveCustomerSession(session, Duration.ofMinutes(5)))
+                    if (status == WaitStatus.WAITING) {
+                        queueLeaseManager.touch(actionGroupId, customerId); // 대기 임대 시작, 이후 SSE 연결로 갱신
+                    }
+                    return assignQueueScore(actionGroupId, status, session)
+                            .flatMap(score -> addUserToQueue(actionGroupId, customerId, status, score))
+                            .then(customerRepository.saveCustomerSession(session, CUSTOMER_SESSION_TTL))
                             .then(actionEventPublisher.publish(status, actionGroupId, actionId, customerId, now)) // influxDB에 현재 이벤트 기록 (대기, 입장준비 등)
                             .then(actionRepository.putRequestLog(actionGroupId, customerId)) // 활성사용자수 계산을 위한 접속기록 로깅
-                            .then(actionRepository.putSession(customerKey)) // 5분 동시접속자 수 계산을 위한 로깅
+                            .then(actionRepository.putSession(actionGroupId, customerKey)) // 5분 동시접속자 수 계산을 위한 로깅
                             .thenReturn(session);
 
                 });
     }
 
+    /**
+     * 신규 진입자를 단일 스크립트 호출로 처리합니다.
+     * 대기 필요 여부 판단부터 대기열 등록, 세션 저장, 요청 로그 기록까지 Redis에서 원자적으로 수행됩니다.
+     *
+     * @return Mono<CustomerSession> 대기 상태 및 토큰 정보
+     */
+    private Mono<CustomerSession> handleNewEntryAtomically(ActionGroup actionGroup, Long actionId, String destinationUrl, String oldCustomerKey) {
+        String customerKey = oldCustomerKey != null ? oldCustomerKey : generateCustomerKey();
+        String customerId = makeCustomerId(actionId, customerKey);
+        var now = System.currentTimeMillis();
+        var session = CustomerSession.builder()
+                .actionId(actionId)
+                .actionGroupId(actionGroup.getId())
+                .customerId(customerId)
+                .verified(false)
+                .accessCount(0L)
+                .destinationUrl(destinationUrl)
+                .timestamp(now)
+                .build();
+
+        return getMaxTrafficPerSecond(actionGroup) // 순차 처리와 같이 스냅샷에 값이 없다면 Redis에서 조회
+                .switchIfEmpty(Mono.error(CoreException.of(ErrorType.INVALID_DATA, "maxTrafficPerSecond가 설정되지 않은 Action Group입니다. actionGroupId: " + actionGroup.getId())))
+                .flatMap(maxTrafficPerSecond -> admissionCreditManager.tryAcquire(actionGroup) // 노드에 입장 크레딧이 남아있다면 판단 없이 READY
+                        .flatMap(preAdmitted -> queueEntryBatcher.enter(actionGroup, maxTrafficPerSecond, session, preAdmitted))) // 같은 그룹에 몰린 진입은 한 번의 스크립트 호출로 기록
+                .flatMap(result -> {
+                    session.setWaitStatus(result.waitStatus());
+                    session.setTicketNo(result.ticketNo());
+                    if (result.waitStatus() == WaitStatus.WAITING) {
+                        admissionCreditManager.revoke(actionGroup.getId()); // 대기고객이 있으므로 남은 크레딧으로 앞지르지 않도록 폐기
+                        queueLeaseManager.touch(actionGroup.getId(), customerId); // 대기 임대 시작, 이후 SSE 연결로 갱신
+                    }
+                    return actionEventPublisher.publish(result.waitStatus(), actionGroup.getId(), actionId, customerId, now) // influxDB에 현재 이벤트 기록 (대기, 입장준비 등)
+                            .then(visitorCounterRepository.isEnabled()
+                                    ? Mono.empty() // 방문 기록은 진입 스크립트에서 처리
+                                    : actionRepository.putSession(actionGroup.getId(), customerKey)) // 5분 동시접속자 수 계산을 위한 로깅
+                            .thenReturn(session);
+                });
+    }
+
+    /**
+     * 고객을 대기열에서 제거하고 CANCELLED 이벤트를 기록합니다.
+     * 대기열에 없는 고객(이미 입장했거나 이탈한 고객)이라면 대기열은 그대로 두고, 발급된 입장권만 취소합니다.
+     *
+     * @param customerId 이탈할 고객 ID
+     * @return Mono<Boolean> 대기열에서 제거되었다면 true
+     */
+    public Mono<Boolean> leaveQueue(String customerId) {
+        Long actionId = CustomerUtil.parseActionIdFromCustomerId(customerId);
+        if (actionId == null) {
+            return Mono.error(CoreException.of(ErrorType.BAD_REQUEST, "유효하지 않은 고객 ID입니다: " + customerId));
+        }
+        return actionService.getActionById(actionId)
+                .switchIfEmpty(Mono.error(CoreException.of(ErrorType.ACTION_NOT_FOUND, "Action not found for ID: " + actionId)))
+                .flatMap(action -> entryTicketManager.revoke(customerId) // 이탈한 고객의 입장권으로 다시 입장하지 못하도록 취소
+                        .then(queueRepository.leave(action.getActionGroupId(), customerId))
+                        .flatMap(left -> left
+                                ? actionEventPublisher.publish(WaitStatus.CANCELLED, action.getActionGroupId(), actionId, customerId, System.currentTimeMillis()).thenReturn(true)
+                                : Mono.just(false)));
+    }
+
+    @PostConstruct
+    public void checkEntryMode() {
+        if (atomicEntryEnabled && !redisKeyBuilder.isClusterSlotAligned()) {
+            log.warn("atomic entry is enabled but redis key schema {} does not co-locate action group keys. falling back to sequential entry.", redisKeyBuilder.schema());
+        }
+        if (atomicVerifyEnabled && !redisKeyBuilder.isClusterSlotAligned()) {
+            log.warn("atomic verify is enabled but redis key schema {} does not co-locate action group keys. falling back to sequential verify.", redisKeyBuilder.schema());
+        }
+    }
+
     private String generateCustomerKey() {
         return TSID.fast().toString();
     }
@@ -157,15 +257,53 @@ public class QueueService {
      * 활성 사용자 수 및 대기고객수가 ActionGroup의 최대 허용 고객 수를 초과하는지 확인합니다.
      * 활성 사용자 수 계산 시 3초 평균 사용자수를 측정합니다.
      *
+     * 노드에 입장 크레딧이 남아있다면 Redis 조회 없이 입장 가능으로 판단하고, 대기가 필요하다고 판단되면 남은 크레딧을 폐기합니다.
+     *
      * @return Mono<Boolean> 대기 필요 여부
      */
-    private Mono<Boolean> isWaitingRequired(Long actionGroupId, Integer maxTrafficPerSecond) {
-        // T1 = 대기고객 수, T2 = 활성사용자 수
-        // 대기고객이 있는 경우 무조건 웨이팅
-        // 대기고객이 없는 경우 활성사용자수가 최대 활성사용자수보다 적으면 입장 가능
-        return Mono.zip(actionRepository.getWaitingCountByActionGroupId(actionGroupId),
-                        queueRepository.getCurrentRequestPerSec(actionGroupId))
-                .map(tuple -> tuple.getT1() > 0 || (tuple.getT2()) >= (double) maxTrafficPerSecond);
+    private Mono<Boolean> isWaitingRequired(ActionGroup actionGroup, Integer maxTrafficPerSecond) {
+        Long actionGroupId = actionGroup.getId();
+        return admissionCreditManager.tryAcquire(actionGroup)
+                .flatMap(acquired -> {
+                    if (acquired) {
+                        return Mono.just(false);
+                    }
+                    // T1 = 대기고객 수, T2 = 활성사용자 수
+                    // 대기고객이 있는 경우 무조건 웨이팅
+                    // 대기고객이 없는 경우 활성사용자수가 최대 활성사용자수보다 적으면 입장 가능
+                    return Mono.zip(actionRepository.getWaitingCountByActionGroupId(actionGroupId),
+                                    queueRepository.getCurrentRequestPerSec(actionGroupId))
+                            .map(tuple -> tuple.getT1() > 0 || (tuple.getT2()) >= (double) maxTrafficPerSecond);
+                })
+                .doOnNext(waitingRequired -> {
+                    if (waitingRequired) {
+                        admissionCreditManager.revoke(actionGroupId);
+                    }
+                });
+    }
+
+    /**
+     * 스냅샷에 적재된 ActionGroup의 maxTrafficPerSecond를 사용하고, 값이 없는 경우에만 Redis에서 조회합니다.
+     */
+    private Mono<Integer> getMaxTrafficPerSecond(ActionGroup actionGroup) {
+        if (actionGroup.getMaxTrafficPerSecond() != null) {
+            return Mono.just(actionGroup.getMaxTrafficPerSecond());
+        }
+        return actionRepository.getMaxTrafficPerSecond(actionGroup.getId());
+    }
+
+    /**
+     * 대기열 score를 결정합니다. 기본은 진입 시간이며,
+     * SEQUENCE 모드의 WAITING 진입이라면 티켓 번호를 발급해 score로 사용하고 세션에도 기록합니다.
+     * 이미 대기중인 고객은 기존 티켓 번호를 그대로 사용합니다.
+     */
+    private Mono<Double> assignQueueScore(Long actionGroupId, WaitStatus status, CustomerSession session) {
+        if (status == WaitStatus.WAITING && queueRepository.isSequenceMode()) {
+            return queueRepository.issueTicket(actionGroupId, session.getCustomerId())
+                    .doOnNext(session::setTicketNo)
+                    .map(Long::doubleValue);
+        }
+        return Mono.just((double) session.getTimestamp());
     }
 
     /**
@@ -174,18 +312,20 @@ public class QueueService {
      * @param actionGroupId 사용자가 진입하려는 ActionGroup의 ID
      * @param customerId  사용자에게 부여된 고유 ID
      * @param status 대기열의 상태 (WAITING or READY)
+     * @param score 대기열 순서를 결정하는 점수 (진입 시간 또는 티켓 번호)
      * @return Mono<Long> 대기열에 추가된 후의 순번 (0부터 시작)
      */
-    private Mono<Boolean> addUserToQueue(Long actionGroupId, String customerId, WaitStatus status) {
+    private Mono<Boolean> addUserToQueue(Long actionGroupId, String customerId, WaitStatus status, double score) {
         String queueKey = redisKeyBuilder.queue(actionGroupId, status);
-        return queueRepository.add(queueKey, customerId, System.currentTimeMillis())
+        return queueRepository.add(queueKey, customerId, score)
                 .map(count -> count > 0);
     }
 
     /**
      * Customer ID로 현재 세션을 조회
+     * 유효한 서명 입장권(entryTicket)이 있다면 Redis 조회 없이 입장 처리하고, 입장이 확인된 고객에게는 입장권을 발급합니다.
       */
-    public Mono<TicketVerificationResponse> verifyTicket(String customerId) {
+    public Mono<TicketVerificationResponse> verifyTicket(String customerId, String entryTicket) {
         return actionService.getActionById(CustomerUtil.parseActionIdFromCustomerId(customerId))
                 .flatMap(action -> {
                     if (!action.isEnabled()) { // action이 비활성화 되어있는 경우 bypass 처리
@@ -199,42 +339,28 @@ public class QueueService {
                                 .customerId(tempId)
                                 .build()));
                     }
-                    return customerRepository.getCustomerSessionById(customerId)
-                            .map(customerSession -> {
-                                var now = System.currentTimeMillis();
-                                var waitTimeMs = now - customerSession.getTimestamp(); // 고객의 score와 지금 시간차만큼 대기한 것으로 판단
-                                customerSession.setTimestamp(now);
-                                customerSession.setWaitTimeMs(waitTimeMs);
-                                return customerSession;
-                            })
-                            .flatMap(customer -> Mono.zip(
-                                    customerRepository.isCustomerReady(customer.getActionGroupId(), customerId).switchIfEmpty(Mono.just(false)), // T1 대기 완료여부 확인
-                                    customerRepository.findCustomerVerifiedFromSession(customerId).switchIfEmpty(Mono.just(false))
-                            )
-                            .flatMap(tuple -> {
-                                if (tuple.getT2()) { // (verified == true) 이미 대기열에 한번 입장했던 고객인 경우 바로 입장 TODO (POC 기간 한시적으로 적용)
-                                    return Mono.just(TicketVerificationResponse.success(customer));
-                                }
-                                if (!tuple.getT1()) { // 예외케이스, 대기가 완료되지 않은 경우
-                                    return Mono.just(TicketVerificationResponse.fail(customerId, "대기 ID가 유효하지 않거나 대기가 완료되지 않았습니다.")); // 유효하지 않은 입장권인 경우 하단 switchIfEmpty에서 처리
-                                }
-                                return customerRepository.updateSessionVerified(customerId, true) // 세션의 대기상태를 ENTERED로 변경
-                                        .then(customerRepository.increaseSessionAccessCount(customerId, 1L)) // Timestamp도 변경, TODO 위에 success가 먼저 타서 +1이 안됨
-                                        .then(Mono.defer(() -> {
-                                            customer.setWaitStatus(WaitStatus.ENTERED);
-                                            return actionEventPublisher.publish(customer);
-                                        }))
-                                        .then(actionRepository.putAccessLog(customer.getActionGroupId(), customer.getCustomerId()))
-                                        .then(actionRepository.putSession(customer.uniqueId()))
-                                        .then(customerRepository.deleteCustomer(customer.getActionGroupId(), customer.getCustomerId(), WaitStatus.READY))
-                                        .then(customerRepository.enqueueCustomer(customer, WaitStatus.ENTERED)
-                                                .map(deleted -> deleted ?
-                                                        TicketVerificationResponse.success(customer) :
-                                                        TicketVerificationResponse.fail(customerId, "Ready 상태를 찾을 수 없습니다.")
-                                                )
-                                        );
-                            })
-                        );
+                    var ticket = entryTicketManager.verify(entryTicket, customerId, action.getId());
+                    if (ticket != null) { // 서명 검증만으로 입장 처리
+                        var response = TicketVerificationResponse.success(CustomerSession.builder()
+                                .actionId(ticket.actionId())
+                                .actionGroupId(ticket.actionGroupId())
+                                .customerId(ticket.customerId())
+                                .build());
+                        response.setTicket(entryTicket);
+                        return Mono.just(response);
+                    }
+                    var verified = atomicVerifyEnabled && redisKeyBuilder.isClusterSlotAligned()
+                            ? verifyTicketAtomically(action, customerId)
+                            : verifyTicketSequentially(action, customerId);
+                    return verified.doOnNext(response -> {
+                        if (Boolean.TRUE.equals(response.getVerified())) {
+                            response.setTicket(entryTicketManager.issue(CustomerSession.builder()
+                                    .actionId(response.getActionId())
+                                    .actionGroupId(response.getActionGroupId())
+                                    .customerId(response.getCustomerId())
+                                    .build()));
+                        }
+                    });
                 })
                 .switchIfEmpty(Mono.just(TicketVerificationResponse.fail(customerId, "확인되지 않은 오류입니다.")))
                 .onErrorResume(e -> {
@@ -245,4 +371,78 @@ public class QueueService {
                     }
                 });
     }
+
+    /**
+     * 세션 조회, 대기 완료 여부 확인, ENTERED 전환을 순차적으로 수행합니다.
+     */
+    private Mono<TicketVerificationResponse> verifyTicketSequentially(Action action, String customerId) {
+        return customerRepository.getCustomerSessionById(action.getActionGroupId(), customerId)
+                .map(customerSession -> {
+                    var now = System.currentTimeMillis();
+                    var waitTimeMs = now - customerSession.getTimestamp(); // 고객의 score와 지금 시간차만큼 대기한 것으로 판단
+                    customerSession.setTimestamp(now);
+                    customerSession.setWaitTimeMs(waitTimeMs);
+                    return customerSession;
+                })
+                .flatMap(customer -> Mono.zip(
+                        customerRepository.isCustomerReady(customer.getActionGroupId(), customerId).switchIfEmpty(Mono.just(false)), // T1 대기 완료여부 확인
+                        customerRepository.findCustomerVerifiedFromSession(customer.getActionGroupId(), customerId).switchIfEmpty(Mono.just(false))
+                )
+                .flatMap(tuple -> {
+                    if (tuple.getT2()) { // (verified == true) 이미 대기열에 한번 입장했던 고객인 경우 바로 입장 TODO (POC 기간 한시적으로 적용)
+                        return Mono.just(TicketVerificationResponse.success(customer));
+                    }
+                    if (!tuple.getT1()) { // 예외케이스, 대기가 완료되지 않은 경우
+                        return Mono.just(TicketVerificationResponse.fail(customerId, "대기 ID가 유효하지 않거나 대기가 완료되지 않았습니다.")); // 유효하지 않은 입장권인 경우 하단 switchIfEmpty에서 처리
+                    }
+                    return customerRepository.updateSessionVerified(customer.getActionGroupId(), customerId, true) // 세션의 대기상태를 ENTERED로 변경
+                            .then(customerRepository.increaseSessionAccessCount(customer.getActionGroupId(), customerId, 1L)) // Timestamp도 변경, TODO 위에 success가 먼저 타서 +1이 안됨
+                            .then(Mono.defer(() -> {
+                                customer.setWaitStatus(WaitStatus.ENTERED);
+                                return actionEventPublisher.publish(customer);
+                            }))
+                            .then(actionRepository.putAccessLog(customer.getActionGroupId(), customer.getCustomerId()))
+                            .then(actionRepository.putSession(customer.getActionGroupId(), customer.uniqueId()))
+                            .then(customerRepository.deleteCustomer(customer.getActionGroupId(), customer.getCustomerId(), WaitStatus.READY))
+                            .then(customerRepository.enqueueCustomer(customer, WaitStatus.ENTERED)
+                                    .map(deleted -> deleted ?
+                                            TicketVerificationResponse.success(customer) :
+                                            TicketVerificationResponse.fail(customerId, "Ready 상태를 찾을 수 없습니다.")
+                                    )
+                            );
+                })
+            );
+    }
+
+    /**
+     * 입장권 검증과 READY -> ENTERED 전환을 단일 스크립트 호출로 처리합니다.
+     * 키 레이아웃 전환 중 새 키에 세션이 없다면 순차 처리로 이전 세션을 확인합니다.
+     */
+    private Mono<TicketVerificationResponse> verifyTicketAtomically(Action action, String customerId) {
+        var now = System.currentTimeMillis();
+        return customerRepository.verifyAndEnter(action.getActionGroupId(), customerId, now)
+                .flatMap(verification -> {
+                    var customer = verification.session();
+                    switch (verification.decision()) {
+                        case ENTERED:
+                            customer.setWaitTimeMs(now - customer.getTimestamp()); // 고객의 score와 지금 시간차만큼 대기한 것으로 판단
+                            customer.setTimestamp(now);
+                            customer.setWaitStatus(WaitStatus.ENTERED);
+                            return actionEventPublisher.publish(customer)
+                                    .then(visitorCounterRepository.isEnabled()
+                                            ? Mono.empty() // 방문 기록은 검증 스크립트에서 처리
+                                            : actionRepository.putSession(customer.getActionGroupId(), customer.uniqueId()))
+                                    .thenReturn(TicketVerificationResponse.success(customer));
+                        case ALREADY_VERIFIED: // 이미 대기열에 한번 입장했던 고객인 경우 바로 입장 TODO (POC 기간 한시적으로 적용)
+                            return Mono.just(TicketVerificationResponse.success(customer));
+                        case NOT_READY: // 예외케이스, 대기가 완료되지 않은 경우
+                            return Mono.just(TicketVerificationResponse.fail(customerId, "대기 ID가 유효하지 않거나 대기가 완료되지 않았습니다."));
+                        default:
+                            if (redisKeyBuilder.isLegacyDualRead()) {
+                                return verifyTicketSequentially(action, customerId);
+                            }
+                            return Mono.error(CoreException.of(ErrorType.CUSTOMER_NOT_FOUND, "Customer session을 찾을 수 없습니다. customerId: " + customerId));
+                    }
+                });
+    }
 }
\ No newline at end of file
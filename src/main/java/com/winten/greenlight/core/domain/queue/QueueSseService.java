@@ -1,127 +1,431 @@
 package com.winten.greenlight.core.domain.queue;
 
+import com.winten.greenlight.core.db.repository.redis.queue.AdmissionNotification;
+import com.winten.greenlight.core.db.repository.redis.queue.QueuePositions;
+import com.winten.greenlight.core.db.repository.redis.queue.QueueRepository;
+import com.winten.greenlight.core.db.repository.redis.queue.QueueSequenceState;
+import com.winten.greenlight.core.domain.action.ActionGroup;
 import com.winten.greenlight.core.domain.action.ActionService;
+import com.winten.greenlight.core.domain.action.ActionSnapshotManager;
 import com.winten.greenlight.core.domain.customer.WaitStatus;
 import com.winten.greenlight.core.support.error.CoreException;
 import com.winten.greenlight.core.support.error.ErrorType;
+import com.winten.greenlight.core.support.util.CustomerUtil;
 import com.winten.greenlight.core.support.util.RedisKeyBuilder;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.core.publisher.Sinks;
+import reactor.util.retry.Retry;
 
 import java.time.Duration;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class QueueSseService {
     private final ActionService actionService;
+    private final ActionSnapshotManager actionSnapshotManager;
+    private final QueueRepository queueRepository;
     private final RedisKeyBuilder redisKeyBuilder;
     private final ReactiveRedisTemplate<String, String> redisTemplate;
+    private final MeterRegistry meterRegistry;
+    private final QueueLeaseManager queueLeaseManager;
+    private final AdmissionCreditManager admissionCreditManager;
 
-    //사용자별로 상태를 push할 수 있는 sink 저장소
-    // key: actionGroupId:customerId ( 마음대로 정할 수 있지만, 보통 해당 형식으로 설정 )
-    private final Map<String, Sinks.Many<CustomerQueueInfo>> userSinkMap = new ConcurrentHashMap<>();
+    @Value("${greenlight.sse.broadcast-interval:1s}")
+    private Duration broadcastInterval;
 
-    // 참고자료: Flux.interval 사용 시 모든 사용자 요청에 interval 이 생성됨
-    // 사용자 요청은 연결만 진행하고 일정 주기로 전체 사용자에게 일괄로 상태를 전송하는 방식으로 구현 필요
-    // https://happyzodiac.tistory.com/90
-    // https://why-doing.tistory.com/136
+    @Value("${greenlight.queue.admission-notification.enabled:true}")
+    private boolean admissionNotificationEnabled;
+
+    /**
+     * 매 tick 순번을 갱신할 대기 순번 범위, 이보다 뒤라면 순번에 비례해 드물게 갱신 (ActionGroup.sseHeadPosition 으로 그룹별 지정 가능)
+     */
+    @Value("${greenlight.sse.cadence.head-position:100}")
+    private int headPosition;
+
+    /**
+     * 대기열 뒤쪽 구독자의 최대 갱신 주기 (ActionGroup.sseMaxRefreshSeconds 로 그룹별 지정 가능)
+     */
+    @Value("${greenlight.sse.cadence.max-interval:30s}")
+    private Duration maxRefreshInterval;
+
+    /**
+     * 이 시간 동안 보낸 이벤트가 없다면 comment heartbeat 전송
+     */
+    @Value("${greenlight.sse.heartbeat-interval:15s}")
+    private Duration heartbeatInterval;
+
+    /**
+     * 한 번의 Redis 호출로 순번을 조회할 최대 고객 수
+     */
+    @Value("${greenlight.sse.batch-size:1000}")
+    private int batchSize;
+
+    // 사용자별로 상태를 push할 수 있는 sink 저장소 (ActionGroup 단위로 분할)
+    private final SubscriberRegistry subscriberRegistry = new SubscriberRegistry();
+
+    private Disposable broadcastLoop;
+    private Disposable admissionRelay;
 
     @PostConstruct
     //서비스 시작 시 단일 interval 생성, 모든 접속 사용자에게 상태 정보를 동시에 push
     public void startBroadcastLoop() {
-        Flux.interval(Duration.ofSeconds(1))  // 1초마다 주기적으로 실행
-                .onBackpressureDrop()        // backpressure 시 오래된 tick drop
-                .subscribe(tick -> broadcastStatuses());
+        Gauge.builder("greenlight.sse.subscribers", subscriberRegistry, SubscriberRegistry::size).register(meterRegistry);
+        Gauge.builder("greenlight.sse.subscriber_groups", subscriberRegistry, SubscriberRegistry::groupCount).register(meterRegistry);
+        Gauge.builder("greenlight.sse.subscriber_slots", subscriberRegistry, SubscriberRegistry::capacity).register(meterRegistry); // 할당된 slot 수, subscribers 대비 비율로 배열 여유분 확인
+        broadcastLoop = Flux.interval(broadcastInterval)
+                .onBackpressureDrop()        // 이전 tick 처리가 끝나지 않았다면 이번 tick drop
+                .concatMap(tick -> broadcastStatuses(tick)
+                        .onErrorResume(e -> {
+                            log.error("failed to broadcast queue statuses", e);
+                            return Mono.empty();
+                        }))
+                .subscribe();
+        if (admissionNotificationEnabled) {
+            // READY 전환 알림을 받으면 다음 broadcast tick을 기다리지 않고 이 노드에 연결된 구독자에게 바로 전달
+            admissionRelay = queueRepository.listenAdmitted()
+                    .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1)).maxBackoff(Duration.ofSeconds(30))
+                            .doBeforeRetry(signal -> log.warn("admission notification subscription lost. resubscribing.", signal.failure())))
+                    .onBackpressureDrop(notification -> log.debug("admission notification dropped. actionGroupId: {}", notification.actionGroupId())) // broadcast tick에서 다시 확인
+                    .concatMap(notification -> Mono.fromRunnable(() -> relayAdmitted(notification))
+                            .onErrorResume(e -> {
+                                log.warn("failed to relay admission notification. actionGroupId: {}", notification.actionGroupId(), e);
+                                return Mono.empty();
+                            }))
+                    .subscribe();
+        }
     }
 
-    //사용자 식별을 위한 고유 키 생성 함수
-    private String generateKey(Long actionGroupId, String customerId) {
-        return actionGroupId + ":" + customerId;
+    @PreDestroy
+    public void stopBroadcastLoop() {
+        if (broadcastLoop != null) {
+            broadcastLoop.dispose();
+        }
+        if (admissionRelay != null) {
+            admissionRelay.dispose();
+        }
+    }
+
+    /**
+     * 알림에 포함된 고객 중 이 노드에 연결된 구독자에게 READY를 push 합니다. 그룹의 tsid 인덱스로 구독자를 찾으므로 그룹 전체를 순회하지 않습니다.
+     */
+    private void relayAdmitted(AdmissionNotification notification) {
+        SubscriberRegistry.Group group = subscriberRegistry.group(notification.actionGroupId());
+        if (group == null) {
+            return;
+        }
+        List<QueueSubscriber> admitted = new ArrayList<>();
+        for (String customerId : notification.customerIds()) {
+            Long actionId = CustomerUtil.parseActionIdFromCustomerId(customerId);
+            Long customerKey = CustomerUtil.parseCustomerKeyFromCustomerId(customerId);
+            if (actionId != null && customerKey != null) {
+                group.find(actionId, customerKey, admitted);
+            }
+        }
+        admitted.forEach(QueueSubscriber::pushReady); // 그룹 lock 밖에서 push
     }
 
     // 사용자 SSE 연결 시 호출되는 메소드
-    // Sinks.Many를 생성해 저장 후 Flux로 반환 / sse 연결 종료 시 Map에서 제거
-    public Flux<CustomerQueueInfo> subscribe(Long actionGroupId, String customerId) {
-        String key = generateKey(actionGroupId, customerId);
+    // 구독자를 등록한 후 Flux로 반환 / sse 연결 종료 시 registry에서 제거
+    public Flux<ServerSentEvent<CustomerQueueInfo>> subscribe(Long actionGroupId, String customerId) {
+        // 구독자는 customerId를 숫자로 나누어 보관하므로, 다시 만든 값이 원래 값과 같은 customerId 만 받음
+        Long actionId = CustomerUtil.parseActionIdFromCustomerId(customerId);
+        Long customerKey = CustomerUtil.parseCustomerKeyFromCustomerId(customerId);
+        if (actionId == null || customerKey == null || !CustomerUtil.toCustomerId(actionId, customerKey).equals(customerId)) {
+            return Flux.error(new CoreException(ErrorType.BAD_REQUEST, "유효하지 않은 고객 ID입니다: " + customerId));
+        }
+        QueueSubscriber subscriber = subscriberRegistry.register(actionGroupId, actionId, customerKey);
+        queueLeaseManager.touch(actionGroupId, customerId); // 다시 연결한 고객의 대기 임대를 바로 갱신
+
+        //연결된 Flux 반환 ( 끊길 경우 자동 제거, 같은 고객이 다시 연결한 경우 각 연결이 따로 유지 )
+        return subscriber.sink.asFlux()
+                .doFinally(signalType -> subscriberRegistry.remove(subscriber));
+    }
+
+    //모든 접속 사용자에 대해 ActionGroup 단위로 대기열 상태 조회 후 push
+    private Mono<Void> broadcastStatuses(long tick) {
+        List<Mono<Void>> groupBroadcasts = new ArrayList<>(subscriberRegistry.groupCount());
+        subscriberRegistry.forEachGroup((actionGroupId, group) -> groupBroadcasts.add(Mono.defer(() -> broadcastGroupStatuses(actionGroupId, group, tick))
+                .onErrorResume(e -> {
+                    log.warn("failed to broadcast queue statuses. actionGroupId: {}", actionGroupId, e);
+                    return Mono.empty();
+                })));
+        return Flux.fromIterable(groupBroadcasts)
+                .flatMap(Function.identity())
+                .then();
+    }
+
+    /**
+     * 한 ActionGroup에서 이번 tick에 갱신할 구독자의 순번을 batch-size 단위로 한 번에 조회하고, 이전에 보낸 값과 달라진 경우에만 push 합니다.
+     * 구독자마다 다음 갱신 tick은 순번에 따라 정해지며(앞쪽일수록 자주), 갱신하지 않는 구독자에게는 필요한 경우 heartbeat만 보냅니다.
+     * 키 레이아웃 전환 중이거나 WAITING/READY 대기열이 같은 slot에 있지 않다면 고객별로 조회합니다.
+     */
+    private Mono<Void> broadcastGroupStatuses(Long actionGroupId, SubscriberRegistry.Group group, long tick) {
+        List<QueueSubscriber[]> due = dueChunks(group, tick);
+        if (due.isEmpty()) {
+            return Mono.empty();
+        }
+        if (redisKeyBuilder.isLegacyDualRead() || !redisKeyBuilder.isClusterSlotAligned()) {
+            return findActionGroup(actionGroupId)
+                    .flatMapMany(actionGroup -> Flux.fromIterable(due)
+                            .concatMap(chunk -> Flux.fromArray(chunk)
+                                    .flatMap(subscriber -> findUserQueueInfo(actionGroupId, subscriber.customerId())
+                                            .doOnNext(info -> {
+                                                subscriber.push(info);
+                                                subscriber.scheduleNext(tick + refreshTicks(actionGroup, info.getPosition()));
+                                            })
+                                            .onErrorResume(CoreException.class, e -> {
+                                                closeSubscriber(subscriber, e);
+                                                return Mono.empty();
+                                            }))))
+                    .then();
+        }
+        if (queueRepository.isSequenceMode()) {
+            return broadcastGroupSequences(actionGroupId, due, tick);
+        }
+        return findActionGroup(actionGroupId)
+                .flatMapMany(actionGroup -> Flux.fromIterable(due)
+                        .concatMap(chunk -> queueRepository.findQueuePositions(actionGroupId, customerIdsOf(chunk))
+                                .doOnNext(positions -> pushPositions(actionGroup, chunk, positions, tick))))
+                .then();
+    }
+
+    private void pushPositions(ActionGroup actionGroup, QueueSubscriber[] chunk, QueuePositions positions, long tick) {
+        if (positions.waitingCount() > 0) { // 대기고객이 있다면 노드에 남은 입장 크레딧을 폐기
+            admissionCreditManager.revoke(actionGroup.getId());
+        }
+        for (int i = 0; i < chunk.length; i++) {
+            QueueSubscriber subscriber = chunk[i];
+            long rank = positions.ranks().get(i);
+            if (rank == QueuePositions.NOT_FOUND) {
+                closeSubscriber(subscriber, new CoreException(ErrorType.CUSTOMER_NOT_FOUND, "이미 입장했거나 존재하지 않는 고객 ID입니다: " + subscriber.customerId()));
+            } else if (rank == QueuePositions.READY) {
+                subscriber.pushReady();
+                subscriber.scheduleNext(tick + refreshTicks(actionGroup, 0L));
+            } else {
+                subscriber.pushWaiting(actionGroup, rank, positions.waitingCount());
+                subscriber.scheduleNext(tick + refreshTicks(actionGroup, rank + 1));
+            }
+        }
+    }
 
-        //Sink 생성 ( 마지막 이벤트만 재전송하는 replay 최신 방식 )
-        //Sink가 마지막으로 emit한 값을 기억 -> 새로 구독한 클라이언트에게도 마지막 값 전달
+    /**
+     * SEQUENCE 모드에서는 ActionGroup당 한 번 대기열 상태(티켓 발급 현황, 입장 완료 커서, 취소 티켓)를 조회하고,
+     * 구독자의 순번은 연결 시 한 번 조회한 티켓 번호로 노드에서 계산합니다.
+     */
+    private Mono<Void> broadcastGroupSequences(Long actionGroupId, List<QueueSubscriber[]> subscribers, long tick) {
+        List<QueueSubscriber> unknownTickets = new ArrayList<>();
+        for (QueueSubscriber[] chunk : subscribers) {
+            for (QueueSubscriber subscriber : chunk) {
+                if (subscriber.ticket == QueueSubscriber.UNKNOWN_TICKET) {
+                    unknownTickets.add(subscriber);
+                }
+            }
+        }
+        List<QueueSubscriber[]> unknownChunks = partition(unknownTickets);
+        return findActionGroup(actionGroupId)
+                .flatMap(actionGroup -> Flux.fromIterable(unknownChunks.isEmpty() ? List.<QueueSubscriber[]>of(new QueueSubscriber[0]) : unknownChunks)
+                        .concatMap(chunk -> queueRepository.findQueueSequenceState(actionGroupId, customerIdsOf(chunk))
+                                .doOnNext(state -> {
+                                    for (int i = 0; i < chunk.length; i++) {
+                                        chunk[i].ticket = state.tickets().get(i);
+                                    }
+                                }))
+                        .last()
+                        .doOnNext(state -> pushSequencePositions(actionGroup, subscribers, state, tick)))
+                .then();
+    }
 
-        //Sink.many() 여러값을 발행할 수 있는 Sink를 생성하는 진입점 -> 많은 값을 여러번 보낼 수 있는 스트림을 만들겠다
-        Sinks.Many<CustomerQueueInfo> sink = Sinks.many().replay().latest();
+    private void pushSequencePositions(ActionGroup actionGroup, List<QueueSubscriber[]> subscribers, QueueSequenceState state, long tick) {
+        long waitingCount = state.waitingCount();
+        if (waitingCount > 0) { // 대기고객이 있다면 노드에 남은 입장 크레딧을 폐기
+            admissionCreditManager.revoke(actionGroup.getId());
+        }
+        for (QueueSubscriber[] chunk : subscribers) {
+            for (QueueSubscriber subscriber : chunk) {
+                long ticket = subscriber.ticket;
+                if (ticket == QueuePositions.NOT_FOUND || (ticket > 0 && state.isCancelled(ticket))) {
+                    closeSubscriber(subscriber, new CoreException(ErrorType.CUSTOMER_NOT_FOUND, "이미 입장했거나 존재하지 않는 고객 ID입니다: " + subscriber.customerId()));
+                } else if (ticket == QueuePositions.READY || state.position(ticket) == 0L) { // 커서 이전 티켓은 입장 처리됨
+                    subscriber.pushReady();
+                    subscriber.scheduleNext(tick + refreshTicks(actionGroup, 0L));
+                } else {
+                    long position = state.position(ticket);
+                    subscriber.pushWaiting(actionGroup, position - 1, waitingCount);
+                    subscriber.scheduleNext(tick + refreshTicks(actionGroup, position));
+                }
+            }
+        }
+    }
+
+    private Mono<ActionGroup> findActionGroup(Long actionGroupId) {
+        ActionGroup actionGroup = actionSnapshotManager.current().getActionGroup(actionGroupId);
+        return actionGroup != null ? Mono.just(actionGroup) : actionService.getActionGroupById(actionGroupId);
+    }
 
-        //Sink 저장 ( 고객별 key로 식별 )
-        userSinkMap.put(key, sink);
+    private void closeSubscriber(QueueSubscriber subscriber, Throwable error) {
+        subscriberRegistry.remove(subscriber);
+        subscriber.close(error);
+    }
 
-        //연결된 Flux 반환 ( 끊길 경우 자동 제거 )
-        return sink.asFlux()
-                .doFinally(signalType -> userSinkMap.remove(key));
+    /**
+     * 이번 tick에 갱신할 구독자를 batch-size 단위 배열로 모읍니다. 오래 보낸 이벤트가 없는 구독자에게는 heartbeat를 보냅니다.
+     * 연결이 유지되고 있는 구독자는 대기 임대 갱신 대상으로 기록합니다.
+     */
+    private List<QueueSubscriber[]> dueChunks(SubscriberRegistry.Group group, long tick) {
+        long now = System.currentTimeMillis();
+        long heartbeatMillis = heartbeatInterval.toMillis();
+        boolean leaseEnabled = queueLeaseManager.isEnabled();
+        long leaseRenewMillis = queueLeaseManager.renewInterval().toMillis();
+        List<QueueSubscriber> due = new ArrayList<>();
+        for (QueueSubscriber[] chunk : chunks(group)) {
+            for (QueueSubscriber subscriber : chunk) {
+                if (leaseEnabled && subscriber.isLeaseRenewalDue(now, leaseRenewMillis)) {
+                    queueLeaseManager.touch(subscriber.actionGroupId, subscriber.customerId());
+                }
+                if (subscriber.isDue(tick)) {
+                    due.add(subscriber);
+                }
+                // 매 tick 갱신 대상이라도 상태가 바뀌지 않으면 이벤트를 보내지 않으므로, 갱신 여부와 관계없이 확인
+                subscriber.heartbeatIfIdle(now, heartbeatMillis);
+            }
+        }
+        return partition(due);
     }
 
-    //모든 접속 사용자에 대해 대기열 상태 조회 후 push
-    private void broadcastStatuses() {
-        for (Map.Entry<String, Sinks.Many<CustomerQueueInfo>> entry : userSinkMap.entrySet()) {
-            String key = entry.getKey();
-            Sinks.Many<CustomerQueueInfo> sink = entry.getValue();
+    /**
+     * 순번에 따른 다음 갱신까지의 tick 수. head-position 이내라면 매 tick, 그보다 뒤라면 순번에 비례해 max-interval 까지 늘어납니다.
+     * READY 고객(position 0)은 곧 연결을 종료하므로 max-interval 주기로만 확인합니다.
+     */
+    private long refreshTicks(ActionGroup actionGroup, long position) {
+        long head = actionGroup.getSseHeadPosition() != null && actionGroup.getSseHeadPosition() > 0 ? actionGroup.getSseHeadPosition() : headPosition;
+        long maxIntervalMillis = actionGroup.getSseMaxRefreshSeconds() != null && actionGroup.getSseMaxRefreshSeconds() > 0
+                ? actionGroup.getSseMaxRefreshSeconds() * 1000L
+                : maxRefreshInterval.toMillis();
+        long maxTicks = Math.max(1L, maxIntervalMillis / Math.max(1L, broadcastInterval.toMillis()));
+        if (position <= 0L) {
+            return maxTicks;
+        }
+        if (position <= head) {
+            return 1L;
+        }
+        return Math.min(maxTicks, (position + head - 1) / head);
+    }
 
-            // key = actionGroupId:customerId
-            String[] parts = key.split(":");
-            Long actionGroupId = Long.valueOf(parts[0]);
-            String customerId = parts[1];
+    /**
+     * 그룹의 구독자를 batch-size 단위 배열로 복사합니다. 복사 이후 연결/종료된 구독자는 다음 tick에 반영됩니다.
+     */
+    private List<QueueSubscriber[]> chunks(SubscriberRegistry.Group group) {
+        int size = group.size();
+        List<QueueSubscriber[]> chunks = new ArrayList<>(size / batchSize + 1);
+        for (int from = 0; from < size; from += batchSize) {
+            QueueSubscriber[] chunk = new QueueSubscriber[Math.min(batchSize, size - from)];
+            int copied = group.copyTo(from, chunk);
+            if (copied == 0) {
+                break;
+            }
+            chunks.add(copied == chunk.length ? chunk : Arrays.copyOf(chunk, copied));
+        }
+        return chunks;
+    }
 
-            // 고객의 현재 상태 조회 후 Sink에 push
-            findUserQueueInfo(actionGroupId, customerId)
-                    .subscribe(sink::tryEmitNext);
+    private List<QueueSubscriber[]> partition(List<QueueSubscriber> subscribers) {
+        List<QueueSubscriber[]> chunks = new ArrayList<>();
+        for (int from = 0; from < subscribers.size(); from += batchSize) {
+            chunks.add(subscribers.subList(from, Math.min(from + batchSize, subscribers.size())).toArray(new QueueSubscriber[0]));
         }
+        return chunks;
+    }
+
+    private List<String> customerIdsOf(QueueSubscriber[] chunk) {
+        String[] customerIds = new String[chunk.length];
+        for (int i = 0; i < chunk.length; i++) {
+            customerIds[i] = chunk[i].customerId();
+        }
+        return Arrays.asList(customerIds);
     }
 
     // sse 연결해서 고객의 현재 대기상태를 조회할 때 사용
-    public Flux<CustomerQueueInfo> connect(Long actionGroupId, String customerId) {
-        return Flux.interval(Duration.ofSeconds(2))   // 2초마다 polling
-                .flatMap(tick -> findUserQueueInfo(actionGroupId, customerId))
-                .distinctUntilChanged();             // 상태가 바뀔 때만 이벤트 발행
+    // 고객별 polling 없이 broadcast loop 에서 상태가 바뀔 때만 이벤트 발행
+    public Flux<ServerSentEvent<CustomerQueueInfo>> connect(Long actionGroupId, String customerId) {
+        return subscribe(actionGroupId, customerId);
     }
 
     public Mono<CustomerQueueInfo> findUserQueueInfo(Long actionGroupId, String customerId) {
-        String waitingKey = redisKeyBuilder.queue(actionGroupId, WaitStatus.WAITING);
-        return Mono.zip(redisTemplate.opsForZSet().rank(waitingKey, customerId),
-                        redisTemplate.opsForZSet().size(waitingKey)
+        if (!redisKeyBuilder.isLegacyDualRead()) {
+            return findUserQueueInfo(redisKeyBuilder, actionGroupId, customerId, 0L)
+                    .switchIfEmpty(Mono.error(new CoreException(ErrorType.CUSTOMER_NOT_FOUND, "이미 입장했거나 존재하지 않는 고객 ID입니다: " + customerId)));
+        }
+        // 키 레이아웃 전환 중에는 이전 WAITING 대기열에 남은 고객이 모두 앞에 있는 것으로 보고 순번을 계산
+        var legacyKeyBuilder = redisKeyBuilder.legacy();
+        return redisTemplate.opsForZSet().size(legacyKeyBuilder.queue(actionGroupId, WaitStatus.WAITING))
+                .defaultIfEmpty(0L)
+                .flatMap(legacyWaitingCount -> findUserQueueInfo(redisKeyBuilder, actionGroupId, customerId, legacyWaitingCount))
+                .switchIfEmpty(findUserQueueInfo(legacyKeyBuilder, actionGroupId, customerId, 0L))
+                .switchIfEmpty(Mono.error(new CoreException(ErrorType.CUSTOMER_NOT_FOUND, "이미 입장했거나 존재하지 않는 고객 ID입니다: " + customerId)));
+    }
+
+    /**
+     * @param aheadOffset WAITING 대기열 앞에 추가로 있는 고객 수
+     */
+    private Mono<CustomerQueueInfo> findUserQueueInfo(RedisKeyBuilder keyBuilder, Long actionGroupId, String customerId, long aheadOffset) {
+        String waitingKey = keyBuilder.queue(actionGroupId, WaitStatus.WAITING);
+        return Mono.zip(redisTemplate.opsForZSet().rank(waitingKey, customerId).map(rank -> rank + aheadOffset),
+                        redisTemplate.opsForZSet().size(waitingKey).map(size -> size + aheadOffset)
                 )
                 // rank 및 size가 Waiting Queue에 있다면 대기중
-                .flatMap(tuple -> actionService.getActionGroupById(actionGroupId)
-                                    .map(actionGroup -> {
-                                        Long estimatedWaitTime = actionGroup.getMaxTrafficPerSecond() > 0  //  = 대기 position / 최대활성사용자수, 나누기 0 방어로직 추가
-                                                ? Math.round((double) tuple.getT1() / actionGroup.getMaxTrafficPerSecond())
-                                                : -1L;
-                                        return CustomerQueueInfo.builder()
-                                                .customerId(customerId)
-                                                .estimatedWaitTime(estimatedWaitTime)
-                                                .aheadCount(Math.max(tuple.getT1(), 0))
-                                                .behindCount(Math.max(tuple.getT2() - (tuple.getT1() + 1), 0))
-                                                .position(tuple.getT1() + 1) // Redis rank는 0-based → +1
-                                                .waitStatus(WaitStatus.WAITING)
-                                                .build();
-                                    })
+                .flatMap(tuple -> findActionGroup(actionGroupId)
+                        .map(actionGroup -> waitingQueueInfo(actionGroup, customerId, tuple.getT1(), tuple.getT2()))
                 )
                 // rank 및 size가 Ready Queue에 있다면 WaitStatus만 반환
-                .switchIfEmpty(redisTemplate.opsForZSet().rank(redisKeyBuilder.queue(actionGroupId, WaitStatus.READY), customerId)
-                        .map(rank -> CustomerQueueInfo.builder()
-                                    .customerId(customerId)
-                                    .waitStatus(WaitStatus.READY)
-                                    .estimatedWaitTime(0L)
-                                    .queueSize(0L)
-                                    .position(0L)
-                                    .build()
-                        ))
-                // Waiting 과 Ready Queue에서 전부 찾을 수 없었다면
-                .switchIfEmpty(Mono.error(new CoreException(ErrorType.CUSTOMER_NOT_FOUND, "이미 입장했거나 존재하지 않는 고객 ID입니다: " + customerId)));
+                .switchIfEmpty(redisTemplate.opsForZSet().rank(keyBuilder.queue(actionGroupId, WaitStatus.READY), customerId)
+                        .map(rank -> readyQueueInfo(customerId)));
+    }
+
+    /**
+     * @param rank         WAITING 대기열 순번 (0부터 시작)
+     * @param waitingCount WAITING 대기열 크기
+     */
+    static CustomerQueueInfo waitingQueueInfo(ActionGroup actionGroup, String customerId, long rank, long waitingCount) {
+        return CustomerQueueInfo.builder()
+                .customerId(customerId)
+                .estimatedWaitTime(estimatedWaitTime(actionGroup, rank))
+                .aheadCount(Math.max(rank, 0))
+                .behindCount(Math.max(waitingCount - (rank + 1), 0))
+                .position(rank + 1) // Redis rank는 0-based → +1
+                .waitStatus(WaitStatus.WAITING)
+                .build();
     }
 
-}
\ No newline at end of file
+    //  = 대기 position / 최대활성사용자수, 나누기 0 방어로직 추가
+    static long estimatedWaitTime(ActionGroup actionGroup, long rank) {
+        return actionGroup.getMaxTrafficPerSecond() > 0
+                ? Math.round((double) rank / actionGroup.getMaxTrafficPerSecond())
+                : -1L;
+    }
+
+    static CustomerQueueInfo readyQueueInfo(String customerId) {
+        return CustomerQueueInfo.builder()
+                .customerId(customerId)
+                .waitStatus(WaitStatus.READY)
+                .estimatedWaitTime(0L)
+                .queueSize(0L)
+                .position(0L)
+                .build();
+    }
+}
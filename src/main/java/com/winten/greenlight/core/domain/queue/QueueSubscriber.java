@@ -0,0 +1,145 @@
+package com.winten.greenlight.core.domain.queue;
+
+import com.winten.greenlight.core.domain.action.ActionGroup;
+import com.winten.greenlight.core.domain.customer.WaitStatus;
+import com.winten.greenlight.core.support.util.CustomerUtil;
+import org.springframework.http.codec.ServerSentEvent;
+import reactor.core.publisher.Sinks;
+import reactor.util.concurrent.Queues;
+
+/**
+ * SSE 연결 하나에 대한 sink와 마지막으로 push한 상태입니다.
+ * 마지막 상태는 CustomerQueueInfo 객체 대신 원시 값으로 보관하여, 상태가 바뀌지 않은 tick에는 객체를 만들지 않습니다.
+ * customerId 도 문자열 대신 actionId, tsid 숫자로 보관하고, Redis 조회나 이벤트 발행처럼 문자열이 필요할 때 다시 만듭니다.
+ */
+final class QueueSubscriber {
+    static final long UNKNOWN_TICKET = 0L;
+
+    // 프록시가 유휴 연결을 끊지 않도록 보내는 comment 이벤트, 모든 구독자가 같은 인스턴스를 공유
+    private static final ServerSentEvent<CustomerQueueInfo> HEARTBEAT = ServerSentEvent.<CustomerQueueInfo>builder().comment("heartbeat").build();
+
+    private static final byte NONE = 0;
+    private static final byte WAITING = 1;
+    private static final byte READY = 2;
+
+    final Long actionGroupId;
+    // customerId({actionId}:{tsid})를 나눈 값
+    final long actionId;
+    final long customerKey;
+    // SSE 응답 하나만 구독하므로 unicast, 클라이언트가 느려 버퍼가 차 있다면 마지막 상태를 갱신하지 않고 다음 갱신 때 다시 push
+    final Sinks.Many<ServerSentEvent<CustomerQueueInfo>> sink = Sinks.many().unicast().onBackpressureBuffer(Queues.<ServerSentEvent<CustomerQueueInfo>>one().get());
+
+    // SubscriberRegistry 내 위치, ActionGroup 단위 lock 안에서만 변경
+    int slot = -1;
+
+    // SEQUENCE 모드의 티켓 번호 (READY, NOT_FOUND 포함), 아직 조회하지 않았다면 0
+    volatile long ticket = UNKNOWN_TICKET;
+
+    // 다음으로 순번을 갱신할 broadcast tick, broadcast loop 에서만 변경
+    private long nextRefreshTick;
+    private volatile long lastEmittedAt = System.currentTimeMillis();
+    // 마지막으로 대기 임대 갱신을 요청한 시간, broadcast loop 에서만 변경
+    private long leaseTouchedAt;
+
+    private byte lastStatus = NONE;
+    private long lastPosition;
+    private long lastBehindCount;
+    private long lastEstimatedWaitTime;
+
+    QueueSubscriber(Long actionGroupId, long actionId, long customerKey) {
+        this.actionGroupId = actionGroupId;
+        this.actionId = actionId;
+        this.customerKey = customerKey;
+    }
+
+    String customerId() {
+        return CustomerUtil.toCustomerId(actionId, customerKey);
+    }
+
+    boolean isDue(long tick) {
+        return tick >= nextRefreshTick;
+    }
+
+    void scheduleNext(long tick) {
+        nextRefreshTick = tick;
+    }
+
+    /**
+     * 마지막 요청 이후 renewMillis 이상 지났다면 true를 반환하고 요청 시간을 기록합니다.
+     */
+    boolean isLeaseRenewalDue(long now, long renewMillis) {
+        if (now - leaseTouchedAt < renewMillis) {
+            return false;
+        }
+        leaseTouchedAt = now;
+        return true;
+    }
+
+    /**
+     * 마지막 이벤트 이후 heartbeatMillis 이상 지났다면 heartbeat를 보냅니다.
+     */
+    synchronized void heartbeatIfIdle(long now, long heartbeatMillis) {
+        if (now - lastEmittedAt >= heartbeatMillis) {
+            emit(HEARTBEAT);
+        }
+    }
+
+    /**
+     * @param rank         WAITING 대기열 순번 (0부터 시작)
+     * @param waitingCount WAITING 대기열 크기
+     */
+    synchronized void pushWaiting(ActionGroup actionGroup, long rank, long waitingCount) {
+        long estimatedWaitTime = QueueSseService.estimatedWaitTime(actionGroup, rank);
+        long behindCount = Math.max(waitingCount - (rank + 1), 0);
+        if (lastStatus == WAITING && lastPosition == rank + 1 && lastBehindCount == behindCount && lastEstimatedWaitTime == estimatedWaitTime) {
+            return;
+        }
+        if (emit(ServerSentEvent.builder(QueueSseService.waitingQueueInfo(actionGroup, customerId(), rank, waitingCount)).build())) {
+            lastStatus = WAITING;
+            lastPosition = rank + 1;
+            lastBehindCount = behindCount;
+            lastEstimatedWaitTime = estimatedWaitTime;
+        }
+    }
+
+    synchronized void pushReady() {
+        if (lastStatus == READY) {
+            return;
+        }
+        if (emit(ServerSentEvent.builder(QueueSseService.readyQueueInfo(customerId())).build())) {
+            lastStatus = READY;
+        }
+    }
+
+    // 상태가 바뀔 때만 이벤트 발행
+    void push(CustomerQueueInfo info) {
+        if (info.getWaitStatus() == WaitStatus.READY) {
+            pushReady();
+            return;
+        }
+        synchronized (this) {
+            if (lastStatus == WAITING && lastPosition == info.getPosition() && lastBehindCount == info.getBehindCount()
+                    && lastEstimatedWaitTime == info.getEstimatedWaitTime()) {
+                return;
+            }
+            if (emit(ServerSentEvent.builder(info).build())) {
+                lastStatus = WAITING;
+                lastPosition = info.getPosition();
+                lastBehindCount = info.getBehindCount();
+                lastEstimatedWaitTime = info.getEstimatedWaitTime();
+            }
+        }
+    }
+
+    void close(Throwable error) {
+        sink.tryEmitError(error);
+    }
+
+    private boolean emit(ServerSentEvent<CustomerQueueInfo> event) {
+        if (sink.tryEmitNext(event).isSuccess()) {
+            lastEmittedAt = System.currentTimeMillis();
+            return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,194 @@
+package com.winten.greenlight.core.domain.queue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+/**
+ * 노드에 연결된 SSE 구독자를 ActionGroup 단위로 보관합니다.
+ * 그룹마다 구독자를 배열에 담아두고 각 구독자가 자신의 위치(slot)를 기억하므로 추가/제거는 O(1)이며,
+ * broadcast 시 키 문자열을 다시 분해하거나 Map.Entry 목록을 만들지 않고 배열을 그대로 순회합니다.
+ * READY 전환 알림처럼 특정 고객만 찾는 경우를 위해 그룹마다 tsid(숫자)로 구독자를 찾는 인덱스도 함께 유지합니다.
+ */
+final class SubscriberRegistry {
+    private static final int INITIAL_CAPACITY = 16;
+
+    // key: actionGroupId
+    private final Map<Long, Group> groups = new ConcurrentHashMap<>();
+    private final AtomicInteger size = new AtomicInteger();
+
+    QueueSubscriber register(Long actionGroupId, long actionId, long customerKey) {
+        var subscriber = new QueueSubscriber(actionGroupId, actionId, customerKey);
+        while (!groups.computeIfAbsent(actionGroupId, id -> new Group()).add(subscriber)) {
+            // 마지막 구독자가 빠져 제거되는 중인 그룹이라면 새 그룹으로 다시 시도
+        }
+        size.incrementAndGet();
+        return subscriber;
+    }
+
+    void remove(QueueSubscriber subscriber) {
+        var group = groups.get(subscriber.actionGroupId);
+        if (group != null && group.remove(subscriber)) {
+            size.decrementAndGet();
+            if (group.retireIfEmpty()) {
+                groups.remove(subscriber.actionGroupId, group);
+            }
+        }
+    }
+
+    Group group(Long actionGroupId) {
+        return groups.get(actionGroupId);
+    }
+
+    void forEachGroup(BiConsumer<Long, Group> action) {
+        groups.forEach(action);
+    }
+
+    int size() {
+        return size.get();
+    }
+
+    int groupCount() {
+        return groups.size();
+    }
+
+    /**
+     * 구독자 배열에 할당된 전체 slot 수 (메모리 사용량 확인용)
+     */
+    long capacity() {
+        long capacity = 0;
+        for (var group : groups.values()) {
+            capacity += group.capacity();
+        }
+        return capacity;
+    }
+
+    /**
+     * ActionGroup 하나의 구독자 배열입니다. 제거 시 마지막 구독자를 빈 자리로 옮겨 배열을 빈틈없이 유지합니다.
+     * 고객별 조회를 위해 tsid 로 위치를 정하는 open addressing(linear probing) 인덱스에 같은 구독자를 담아두며,
+     * 인덱스는 구독자 수의 2배 이상 크기를 유지합니다. 같은 고객이 여러 번 연결했다면 연결마다 따로 담깁니다.
+     */
+    static final class Group {
+        private QueueSubscriber[] slots = new QueueSubscriber[INITIAL_CAPACITY];
+        private QueueSubscriber[] index = new QueueSubscriber[INITIAL_CAPACITY * 2];
+        private int size;
+        private boolean retired;
+
+        synchronized boolean add(QueueSubscriber subscriber) {
+            if (retired) {
+                return false;
+            }
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+            }
+            if ((size + 1) * 2 > index.length) {
+                rehash(index.length * 2);
+            }
+            insert(subscriber);
+            subscriber.slot = size;
+            slots[size++] = subscriber;
+            return true;
+        }
+
+        synchronized boolean remove(QueueSubscriber subscriber) {
+            int slot = subscriber.slot;
+            if (slot < 0 || slot >= size || slots[slot] != subscriber) {
+                return false;
+            }
+            var last = slots[--size];
+            slots[slot] = last;
+            last.slot = slot;
+            slots[size] = null;
+            subscriber.slot = -1;
+            delete(subscriber);
+            if (slots.length > INITIAL_CAPACITY && size < slots.length / 4) { // 연결이 크게 줄었다면 배열도 줄임
+                slots = Arrays.copyOf(slots, Math.max(INITIAL_CAPACITY, slots.length / 2));
+                rehash(slots.length * 2);
+            }
+            return true;
+        }
+
+        /**
+         * 고객의 구독자를 target에 추가합니다. 연결되어 있지 않다면 추가하지 않습니다.
+         */
+        synchronized void find(long actionId, long customerKey, List<QueueSubscriber> target) {
+            int mask = index.length - 1;
+            for (int i = home(customerKey, mask); index[i] != null; i = (i + 1) & mask) {
+                var candidate = index[i];
+                if (candidate.customerKey == customerKey && candidate.actionId == actionId) {
+                    target.add(candidate);
+                }
+            }
+        }
+
+        private synchronized boolean retireIfEmpty() {
+            if (size == 0) {
+                retired = true;
+            }
+            return retired;
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        synchronized int capacity() {
+            return slots.length;
+        }
+
+        private void insert(QueueSubscriber subscriber) {
+            int mask = index.length - 1;
+            int i = home(subscriber.customerKey, mask);
+            while (index[i] != null) {
+                i = (i + 1) & mask;
+            }
+            index[i] = subscriber;
+        }
+
+        // 제거한 자리 뒤에 이어진 구독자를 앞으로 당겨 조회가 빈 자리에서 끊기지 않도록 함 (tombstone 없이 삭제)
+        private void delete(QueueSubscriber subscriber) {
+            int mask = index.length - 1;
+            int hole = home(subscriber.customerKey, mask);
+            while (index[hole] != subscriber) {
+                if (index[hole] == null) { // 인덱스에 없는 구독자
+                    return;
+                }
+                hole = (hole + 1) & mask;
+            }
+            for (int i = (hole + 1) & mask; index[i] != null; i = (i + 1) & mask) {
+                int home = home(index[i].customerKey, mask);
+                if (((i - home) & mask) >= ((i - hole) & mask)) { // home 부터 i 사이에 빈 자리가 있다면 당김
+                    index[hole] = index[i];
+                    hole = i;
+                }
+            }
+            index[hole] = null;
+        }
+
+        private void rehash(int capacity) {
+            index = new QueueSubscriber[capacity];
+            for (int i = 0; i < size; i++) {
+                insert(slots[i]);
+            }
+        }
+
+        private static int home(long customerKey, int mask) {
+            long hash = customerKey * 0x9E3779B97F4A7C15L; // tsid 하위 비트가 비슷한 고객이 몰리지 않도록 섞음
+            return (int) (hash ^ (hash >>> 32)) & mask;
+        }
+
+        /**
+         * from 번째 구독자부터 최대 target.length 명을 target에 복사합니다.
+         *
+         * @return 복사한 구독자 수
+         */
+        synchronized int copyTo(int from, QueueSubscriber[] target) {
+            int count = Math.max(0, Math.min(target.length, size - from));
+            System.arraycopy(slots, from, target, 0, count);
+            return count;
+        }
+    }
+}
@@ -14,7 +14,9 @@ import java.util.List;
 @EnableCaching
 @Configuration
 public class LocalCacheConfig {
-//    @Bean
+    public static final String ACTION_SNAPSHOT_CACHE = "actionSnapshotCache";
+
+    @Bean
     public CaffeineCacheManager cacheManager() {
         CaffeineCacheManager cacheManager = new CaffeineCacheManager();
         cacheManager.setAsyncCacheMode(true);
@@ -37,6 +39,12 @@ public class LocalCacheConfig {
                         .expireAfterWrite(Duration.ofDays(1))
                         .build()
         );
+        cacheManager.registerCustomCache( // action snapshot 은 version 단위로 최근 몇 개만 유지 (만료 없음, 교체 시점에만 갱신)
+                ACTION_SNAPSHOT_CACHE,
+                Caffeine.newBuilder()
+                        .maximumSize(8)
+                        .build()
+        );
         return cacheManager;
     }
 }
\ No newline at end of file
@@ -0,0 +1,25 @@
+package com.winten.greenlight.core.support.publisher;
+
+import com.winten.greenlight.core.domain.customer.WaitStatus;
+
+/**
+ * Redis Stream에 기록되기 전까지 버퍼에 보관되는 대기열 이벤트입니다.
+ *
+ * @param waitStatus     이벤트 종류 (WAITING, READY, ENTERED 등)
+ * @param actionGroupId  ActionGroup ID
+ * @param actionId       Action ID
+ * @param customerKey    customerId의 고유번호 부분 ({actionId}:{tsid} 중 tsid)
+ * @param eventTimestamp 이벤트 발생 시간 (epoch millis)
+ * @param waitTimeMs     대기 시간, 없다면 null
+ * @param enqueuedAt     버퍼에 추가된 시간 (epoch millis), 발행 지연 측정용
+ */
+record ActionEvent(
+        WaitStatus waitStatus,
+        Long actionGroupId,
+        Long actionId,
+        String customerKey,
+        Long eventTimestamp,
+        Long waitTimeMs,
+        long enqueuedAt
+) {
+}
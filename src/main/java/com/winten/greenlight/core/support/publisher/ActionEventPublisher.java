@@ -3,25 +3,101 @@ package com.winten.greenlight.core.support.publisher;
 import com.winten.greenlight.core.domain.customer.CustomerSession;
 import com.winten.greenlight.core.domain.customer.WaitStatus;
 import com.winten.greenlight.core.support.util.RedisKeyBuilder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.connection.stream.MapRecord;
-import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
 import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * 대기열 이벤트를 Redis Stream(action_event:stream)에 기록합니다.
+ * 요청 처리 경로에서는 고정 크기 버퍼에 이벤트를 넣기만 하고, 별도 flush loop가 batch-size 또는 flush-interval 단위로
+ * 한 번의 스크립트 호출로 기록합니다. 버퍼가 가득 차면 이벤트를 버리고(drop) 카운터로 집계하며,
+ * 스트림은 MAXLEN ~ 로 근사 trim 하여 소비자가 느려지더라도 Redis 메모리가 무한히 늘어나지 않도록 합니다.
+ */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class ActionEventPublisher {
+    private static final RedisScript<Long> PUBLISH_SCRIPT = RedisScript.of(new ClassPathResource("redis/scripts/action-event-publish.lua"), Long.class);
+
     private final ReactiveRedisTemplate<String, String> redisTemplate;
     private final RedisKeyBuilder keyBuilder;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${greenlight.action-event.buffer-size:10000}")
+    private int bufferSize;
+
+    @Value("${greenlight.action-event.batch-size:200}")
+    private int batchSize;
+
+    @Value("${greenlight.action-event.flush-interval:100ms}")
+    private Duration flushInterval;
+
+    @Value("${greenlight.action-event.max-len:1000000}")
+    private long maxLen;
+
+    private BlockingQueue<ActionEvent> buffer;
+    private final Sinks.Many<Long> flushSignal = Sinks.many().multicast().directBestEffort();
+    private Disposable flushLoop;
 
-    public Mono<RecordId> publish(CustomerSession customerSession) {
+    private Counter publishedCounter;
+    private Counter droppedCounter;
+    private Counter failedCounter;
+    private Timer lagTimer;
+
+    @PostConstruct
+    public void startFlushLoop() {
+        buffer = new ArrayBlockingQueue<>(bufferSize);
+        publishedCounter = meterRegistry.counter("greenlight.action_event.published");
+        droppedCounter = meterRegistry.counter("greenlight.action_event.dropped", "reason", "buffer_full");
+        failedCounter = meterRegistry.counter("greenlight.action_event.dropped", "reason", "publish_failed");
+        lagTimer = meterRegistry.timer("greenlight.action_event.lag"); // 버퍼 추가부터 스트림 기록까지 걸린 시간
+        Gauge.builder("greenlight.action_event.buffer", buffer, BlockingQueue::size).register(meterRegistry);
+
+        flushLoop = Flux.merge(Flux.interval(flushInterval), flushSignal.asFlux())
+                .onBackpressureDrop()
+                .concatMap(tick -> flush()
+                        .onErrorResume(e -> {
+                            log.error("failed to flush action events", e);
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stopFlushLoop() {
+        if (flushLoop != null) {
+            flushLoop.dispose();
+        }
+        // 종료 전 버퍼에 남은 이벤트 기록
+        try {
+            flush().block(Duration.ofSeconds(5));
+        } catch (Exception e) {
+            log.warn("failed to flush remaining action events. remaining: {}", buffer.size(), e);
+        }
+    }
+
+    public Mono<Boolean> publish(CustomerSession customerSession) {
         return this.publish(
                 customerSession.getWaitStatus(),
                 customerSession.getActionGroupId(),
@@ -32,34 +108,90 @@ public class ActionEventPublisher {
         );
     }
 
-    public Mono<RecordId> publish(WaitStatus waitStatus, Long actionGroupId, Long actionId, String customerId, Long timestamp) {
+    public Mono<Boolean> publish(WaitStatus waitStatus, Long actionGroupId, Long actionId, String customerId, Long timestamp) {
         return this.publish(waitStatus, actionGroupId, actionId, customerId, timestamp, null);
     }
 
     /**
      * 공통 이벤트 발행 로직
+     * 이벤트를 버퍼에 추가만 하며, Redis I/O는 flush loop에서 수행됩니다.
+     *
+     * @return Mono<Boolean> 버퍼에 추가되었다면 true, 버퍼가 가득 차 버려졌다면 false
      */
-    public Mono<RecordId> publish(WaitStatus waitStatus, Long actionGroupId, Long actionId, String customerId, Long timestamp, Long waitTimeMs) {
-        // InfluxDB의 Tag에 해당하는 데이터를 Map으로 구성합니다.
-        // Consumer가 이 데이터를 읽어 InfluxDB에 저장하게 됩니다.
-        if (customerId.contains(":")) {
-            customerId = customerId.split(":")[1];
-        }
-        Map<String, String> eventPayload = new HashMap<>();
-        eventPayload.put("eventType", waitStatus.name());
-        eventPayload.put("actionGroupId", String.valueOf(actionGroupId));
-        eventPayload.put("actionId", String.valueOf(actionId));
-        eventPayload.put("customerId", customerId);
-        eventPayload.put("eventTimestamp", String.valueOf(timestamp));
-        eventPayload.put("recordTimestamp", String.valueOf(System.currentTimeMillis()));
-        if (waitTimeMs != null) {
-            eventPayload.put("waitTimeMs", String.valueOf(waitTimeMs));
+    public Mono<Boolean> publish(WaitStatus waitStatus, Long actionGroupId, Long actionId, String customerId, Long timestamp, Long waitTimeMs) {
+        return Mono.fromSupplier(() -> {
+            String customerKey = customerId;
+            if (customerKey.contains(":")) {
+                customerKey = customerKey.split(":")[1];
+            }
+            var event = new ActionEvent(waitStatus, actionGroupId, actionId, customerKey, timestamp, waitTimeMs, System.currentTimeMillis());
+            if (!buffer.offer(event)) {
+                droppedCounter.increment();
+                return false;
+            }
+            if (buffer.size() >= batchSize) {
+                flushSignal.tryEmitNext(0L);
+            }
+            return true;
+        });
+    }
+
+    /**
+     * 버퍼의 이벤트를 batch-size 단위로 모두 기록합니다.
+     */
+    private Mono<Void> flush() {
+        return Flux.<List<ActionEvent>>generate(sink -> {
+                    List<ActionEvent> batch = new ArrayList<>(Math.min(batchSize, buffer.size()));
+                    buffer.drainTo(batch, batchSize);
+                    if (batch.isEmpty()) {
+                        sink.complete();
+                    } else {
+                        sink.next(batch);
+                    }
+                })
+                .concatMap(this::publishBatch)
+                .then();
+    }
+
+    private Mono<Long> publishBatch(List<ActionEvent> batch) {
+        return redisTemplate.execute(PUBLISH_SCRIPT, List.of(keyBuilder.actionEventStream()), publishArgs(batch))
+                .next()
+                .doOnNext(published -> {
+                    publishedCounter.increment(published);
+                    lagTimer.record(System.currentTimeMillis() - batch.get(0).enqueuedAt(), TimeUnit.MILLISECONDS);
+                })
+                .onErrorResume(e -> {
+                    failedCounter.increment(batch.size());
+                    log.error("Failed to publish event to Redis Stream. dropped: {}", batch.size(), e);
+                    return Mono.empty();
+                });
+    }
+
+    // InfluxDB의 Tag에 해당하는 데이터를 field, value 순서로 구성합니다.
+    // Consumer가 이 데이터를 읽어 InfluxDB에 저장하게 됩니다.
+    private List<String> publishArgs(List<ActionEvent> batch) {
+        var recordTimestamp = String.valueOf(System.currentTimeMillis());
+        var args = new ArrayList<String>(1 + batch.size() * 15);
+        args.add(String.valueOf(maxLen));
+        for (ActionEvent event : batch) {
+            args.add(event.waitTimeMs() != null ? "7" : "6");
+            args.add("eventType");
+            args.add(event.waitStatus().name());
+            args.add("actionGroupId");
+            args.add(String.valueOf(event.actionGroupId()));
+            args.add("actionId");
+            args.add(String.valueOf(event.actionId()));
+            args.add("customerId");
+            args.add(event.customerKey());
+            args.add("eventTimestamp");
+            args.add(String.valueOf(event.eventTimestamp()));
+            args.add("recordTimestamp");
+            args.add(recordTimestamp);
+            if (event.waitTimeMs() != null) {
+                args.add("waitTimeMs");
+                args.add(String.valueOf(event.waitTimeMs()));
+            }
         }
-        // Redis Stream에 추가할 레코드를 생성합니다.
-        var record = MapRecord.create(keyBuilder.actionEventStream(), eventPayload);
-        // opsForStream().add()를 사용하여 비동기적으로 스트림에 데이터를 추가합니다.
-        return redisTemplate.opsForStream()
-                .add(record)
-                .doOnError(e -> log.error("Failed to publish event to Redis Stream", e));
+        return args;
     }
-}
\ No newline at end of file
+}
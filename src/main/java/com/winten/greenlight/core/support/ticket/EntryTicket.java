@@ -0,0 +1,16 @@
+package com.winten.greenlight.core.support.ticket;
+
+/**
+ * 입장이 확인된 고객에게 발급하는 서명된 입장권의 내용입니다.
+ *
+ * @param actionId      Action ID
+ * @param actionGroupId ActionGroup ID
+ * @param customerId    고객 ID
+ * @param expiresAt     만료 시간 (epoch seconds)
+ */
+public record EntryTicket(Long actionId, Long actionGroupId, String customerId, long expiresAt) {
+
+    public boolean isExpired(long nowEpochSecond) {
+        return nowEpochSecond >= expiresAt;
+    }
+}
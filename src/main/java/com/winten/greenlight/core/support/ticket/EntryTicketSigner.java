@@ -0,0 +1,101 @@
+package com.winten.greenlight.core.support.ticket;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.Base64;
+
+/**
+ * {@link EntryTicket}을 HMAC-SHA256으로 서명하고 검증합니다.
+ * 형식: base64url(v1|actionId|actionGroupId|customerId|expiresAt) + "." + base64url(HMAC-SHA256)
+ * 검증은 서명 비교만 수행하므로 Redis 조회가 필요 없습니다.
+ */
+@Slf4j
+@Component
+public class EntryTicketSigner {
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final String VERSION = "v1";
+    private static final char SEPARATOR = '|';
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec secretKey;
+    private final Duration expiration;
+
+    // Mac은 thread-safe 하지 않으므로 스레드별로 생성
+    private final ThreadLocal<Mac> mac;
+
+    /**
+     * @param secret     서명 키, 비어 있다면 입장권을 발급하지 않음
+     * @param expiration 입장권 유효 시간, 단위가 없는 숫자는 ms 로 해석되므로 "30m" 처럼 단위를 붙여 설정
+     */
+    public EntryTicketSigner(@Value("${jwt.secret:}") String secret,
+                             @Value("${greenlight.entry-ticket.ttl:30m}") Duration expiration) {
+        this.secretKey = secret.isBlank() ? null : new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        this.expiration = expiration;
+        this.mac = ThreadLocal.withInitial(() -> {
+            try {
+                Mac instance = Mac.getInstance(ALGORITHM);
+                instance.init(secretKey);
+                return instance;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("failed to initialize entry ticket signer", e);
+            }
+        });
+    }
+
+    /**
+     * 서명 키(jwt.secret)가 설정되어 있는지 여부
+     */
+    public boolean isConfigured() {
+        return secretKey != null;
+    }
+
+    public Duration expiration() {
+        return expiration;
+    }
+
+    public String sign(EntryTicket ticket) {
+        String payload = VERSION + SEPARATOR + ticket.actionId() + SEPARATOR + ticket.actionGroupId()
+                + SEPARATOR + ticket.customerId() + SEPARATOR + ticket.expiresAt();
+        byte[] payloadBytes = payload.getBytes(StandardCharsets.UTF_8);
+        return ENCODER.encodeToString(payloadBytes) + "." + ENCODER.encodeToString(mac.get().doFinal(payloadBytes));
+    }
+
+    /**
+     * 서명을 검증하고 입장권 내용을 반환합니다. 만료 여부는 확인하지 않습니다.
+     *
+     * @return 서명이 유효하지 않거나 형식이 잘못된 경우 null
+     */
+    public EntryTicket parse(String token) {
+        if (token == null) {
+            return null;
+        }
+        int dot = token.indexOf('.');
+        if (dot <= 0 || dot == token.length() - 1) {
+            return null;
+        }
+        try {
+            byte[] payloadBytes = DECODER.decode(token.substring(0, dot));
+            byte[] signature = DECODER.decode(token.substring(dot + 1));
+            if (!MessageDigest.isEqual(mac.get().doFinal(payloadBytes), signature)) {
+                return null;
+            }
+            String[] fields = new String(payloadBytes, StandardCharsets.UTF_8).split("\\|", -1);
+            if (fields.length != 5 || !VERSION.equals(fields[0])) {
+                return null;
+            }
+            return new EntryTicket(Long.valueOf(fields[1]), Long.valueOf(fields[2]), fields[3], Long.parseLong(fields[4]));
+        } catch (IllegalArgumentException e) { // base64, 숫자 형식 오류
+            return null;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.winten.greenlight.core.support.util;
 
+import io.hypersistence.tsid.TSID;
+
 public class CustomerUtil {
     public static Long parseActionIdFromCustomerId(String customerId) {
         try {
@@ -8,4 +10,22 @@ public class CustomerUtil {
             return null;
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * customerId({actionId}:{tsid})의 tsid 부분을 숫자로 변환합니다. 형식이 다르다면 null을 반환합니다.
+     */
+    public static Long parseCustomerKeyFromCustomerId(String customerId) {
+        int separator = customerId != null ? customerId.indexOf(':') : -1;
+        if (separator < 0 || !TSID.isValid(customerId.substring(separator + 1))) {
+            return null;
+        }
+        return TSID.from(customerId.substring(separator + 1)).toLong();
+    }
+
+    /**
+     * 숫자로 보관한 actionId, tsid 로 customerId({actionId}:{tsid})를 다시 만듭니다.
+     */
+    public static String toCustomerId(long actionId, long customerKey) {
+        return actionId + ":" + TSID.from(customerKey);
+    }
+}
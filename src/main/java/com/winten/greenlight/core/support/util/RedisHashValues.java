@@ -0,0 +1,138 @@
+package com.winten.greenlight.core.support.util;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * jsonRedisTemplate(GenericJackson2JsonRedisSerializer)으로 저장된 hash 값을 Jackson을 거치지 않고 읽습니다.
+ * 값 하나는 JSON scalar(문자열, 숫자, boolean) 이며 null은 빈 문자열로 저장되어 있습니다.
+ * 필드 구성이 정해진 Action, ActionGroup, CustomerSession 을 필드 단위로 읽고 쓸 때 사용합니다.
+ * 따옴표 없이 저장된 값(stringRedisTemplate 형식)도 같은 값으로 읽습니다.
+ * from* 메소드는 같은 형식(ObjectMapper가 값 하나를 직렬화한 결과)으로 값을 씁니다.
+ */
+public final class RedisHashValues {
+
+    private RedisHashValues() {
+    }
+
+    public static boolean isNull(String raw) {
+        return raw == null || raw.isEmpty() || "null".equals(raw);
+    }
+
+    public static String toString(String raw) {
+        if (isNull(raw)) {
+            return null;
+        }
+        if (raw.length() < 2 || raw.charAt(0) != '"' || raw.charAt(raw.length() - 1) != '"') {
+            return raw;
+        }
+        var content = raw.substring(1, raw.length() - 1);
+        return content.indexOf('\\') < 0 ? content : unescape(content);
+    }
+
+    public static Long toLong(String raw) {
+        var value = toString(raw);
+        return value != null ? Long.valueOf(value) : null;
+    }
+
+    public static Integer toInteger(String raw) {
+        var value = toString(raw);
+        return value != null ? Integer.valueOf(value) : null;
+    }
+
+    public static Boolean toBoolean(String raw) {
+        var value = toString(raw);
+        return value != null ? Boolean.valueOf(value) : null;
+    }
+
+    public static <E extends Enum<E>> E toEnum(Class<E> type, String raw) {
+        var value = toString(raw);
+        return value != null ? Enum.valueOf(type, value) : null;
+    }
+
+    /**
+     * ISO-8601 문자열("2025-01-01T10:00:00") 또는 배열([2025,1,1,10,0,0]) 형식의 LocalDateTime을 읽습니다.
+     */
+    public static LocalDateTime toDateTime(String raw) {
+        if (isNull(raw)) {
+            return null;
+        }
+        if (raw.charAt(0) != '[') {
+            return LocalDateTime.parse(toString(raw));
+        }
+        var parts = raw.substring(1, raw.length() - 1).split(",");
+        int[] values = new int[7];
+        for (int i = 0; i < parts.length && i < values.length; i++) {
+            values[i] = Integer.parseInt(parts[i].trim());
+        }
+        return LocalDateTime.of(values[0], values[1], values[2], values[3], values[4], values[5], values[6]);
+    }
+
+    public static String fromString(String value) {
+        return value != null ? quote(value) : "";
+    }
+
+    public static String fromNumber(Number value) {
+        return value != null ? value.toString() : "";
+    }
+
+    public static String fromEnum(Enum<?> value) {
+        return value != null ? quote(value.name()) : "";
+    }
+
+    /**
+     * JavaTimeModule과 같은 ISO-8601 문자열(초 포함)로 씁니다.
+     */
+    public static String fromDateTime(LocalDateTime value) {
+        return value != null ? quote(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(value)) : "";
+    }
+
+    // JSON 문자열로 변환 (따옴표, 역슬래시, 제어 문자 escape)
+    private static String quote(String value) {
+        var builder = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> builder.append("\\\"");
+                case '\\' -> builder.append("\\\\");
+                case '\n' -> builder.append("\\n");
+                case '\r' -> builder.append("\\r");
+                case '\t' -> builder.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        builder.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        builder.append(c);
+                    }
+                }
+            }
+        }
+        return builder.append('"').toString();
+    }
+
+    // JSON 문자열 escape 해제 (따옴표, 역슬래시, 제어 문자, 유니코드 escape)
+    private static String unescape(String content) {
+        var builder = new StringBuilder(content.length());
+        for (int i = 0; i < content.length(); i++) {
+            char c = content.charAt(i);
+            if (c != '\\' || i + 1 >= content.length()) {
+                builder.append(c);
+                continue;
+            }
+            char escaped = content.charAt(++i);
+            switch (escaped) {
+                case 'b' -> builder.append('\b');
+                case 'f' -> builder.append('\f');
+                case 'n' -> builder.append('\n');
+                case 'r' -> builder.append('\r');
+                case 't' -> builder.append('\t');
+                case 'u' -> {
+                    builder.append((char) Integer.parseInt(content.substring(i + 1, i + 5), 16));
+                    i += 4;
+                }
+                default -> builder.append(escaped);
+            }
+        }
+        return builder.toString();
+    }
+}
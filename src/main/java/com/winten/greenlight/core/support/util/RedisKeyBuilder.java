@@ -1,37 +1,109 @@
 package com.winten.greenlight.core.support.util;
 
 import com.winten.greenlight.core.domain.customer.WaitStatus;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 @Component
-@RequiredArgsConstructor
 public class RedisKeyBuilder {
-    @Value("${redis.key-prefix}")
-    private String prefix;
+    private final String prefix;
+
+    private final RedisKeySchema schema;
+
+    /**
+     * 키 레이아웃 전환 기간 동안 이전(V1) 키도 함께 조회할지 여부
+     */
+    private final boolean legacyDualRead;
+
+    @Autowired
+    public RedisKeyBuilder(@Value("${redis.key-prefix}") String prefix,
+                           @Value("${redis.key-schema:V1}") RedisKeySchema schema,
+                           @Value("${redis.key-migration.dual-read:false}") boolean legacyDualRead) {
+        this.prefix = prefix;
+        this.schema = schema;
+        this.legacyDualRead = legacyDualRead && schema != RedisKeySchema.V1;
+    }
+
+    public RedisKeySchema schema() {
+        return schema;
+    }
+
+    /**
+     * 키 레이아웃 전환 중이라 이전(V1) 키도 함께 조회해야 하는지 여부
+     */
+    public boolean isLegacyDualRead() {
+        return legacyDualRead;
+    }
+
+    /**
+     * ActionGroup 단위 키들이 같은 cluster slot에 위치하는지 여부
+     */
+    public boolean isClusterSlotAligned() {
+        return schema == RedisKeySchema.V2;
+    }
+
+    /**
+     * 이전(V1) 레이아웃으로 키를 만드는 builder를 반환합니다. 전환 기간의 dual-read 및 migration 용도입니다.
+     */
+    public RedisKeyBuilder legacy() {
+        return schema == RedisKeySchema.V1 ? this : new RedisKeyBuilder(prefix, RedisKeySchema.V1, false);
+    }
 
     // TODO 한눈에 보기 쉽게 완성된 full string을 주석에 추가하기
+    // V1: {prefix}:action_group:1
+    // V2: {prefix}:action_group:{1}
+    private String actionGroup(Long actionGroupId) {
+        if (schema == RedisKeySchema.V2) {
+            return prefix + ":action_group:{" + actionGroupId + "}";
+        }
+        return prefix + ":action_group:" + actionGroupId;
+    }
+
+    // {prefix}:action_group:{1}:meta
     public String actionGroupMeta(Long actionGroupId) {
-        return prefix + ":action_group:" + actionGroupId + ":meta";
+        return actionGroup(actionGroupId) + ":meta";
     }
 
+    // {prefix}:action_group:{1}:status
     public String actionGroupStatus(Long actionGroupId) {
-        return prefix + ":action_group:" + actionGroupId + ":status";
+        return actionGroup(actionGroupId) + ":status";
     }
 
+    // {prefix}:action:1
     public String action(Long actionId) {
         return prefix + ":action:" + actionId;
     }
 
+    // {prefix}:action_group:{1}:queue:WAITING
     public String queue(Long actionGroupId, WaitStatus waitStatus) {
-        return prefix + ":action_group:" + actionGroupId + ":queue:" + waitStatus;
+        return actionGroup(actionGroupId) + ":queue:" + waitStatus;
+    }
+
+    // {prefix}:action_group:{1}:queue:ticket_seq
+    public String queueTicketSequence(Long actionGroupId) {
+        return actionGroup(actionGroupId) + ":queue:ticket_seq";
+    }
+
+    // {prefix}:action_group:{1}:queue:admitted_cursor
+    public String queueAdmittedCursor(Long actionGroupId) {
+        return actionGroup(actionGroupId) + ":queue:admitted_cursor";
+    }
+
+    // {prefix}:action_group:{1}:queue:cancelled_ticket
+    public String queueCancelledTickets(Long actionGroupId) {
+        return actionGroup(actionGroupId) + ":queue:cancelled_ticket";
+    }
+
+    // {prefix}:action_group:{1}:queue:lease, WAITING 고객별 대기 임대 만료 시간 (ZSET, score = epoch millis)
+    public String queueLease(Long actionGroupId) {
+        return actionGroup(actionGroupId) + ":queue:lease";
     }
 
     // 대기열 키 (기존 queue 메서드와 유사하지만, actionId를 직접 받도록)
     // 기존 queue(Long actionGroupId, WaitStatus waitStatus)와는 다름
     public String waitingQueue(Long actionGroupId) {
-        return prefix + ":action_group:" + actionGroupId + ":queue:" + WaitStatus.WAITING;
+        return queue(actionGroupId, WaitStatus.WAITING);
     }
 
     public String userApiKey() {
@@ -42,6 +114,34 @@ public class RedisKeyBuilder {
         return prefix + ":action:*";
     }
 
+    // {prefix}:action:1 -> 1, Action 키가 아니라면 null
+    public Long parseActionId(String actionKey) {
+        var actionPrefix = prefix + ":action:";
+        if (actionKey == null || !actionKey.startsWith(actionPrefix)) {
+            return null;
+        }
+        var id = actionKey.substring(actionPrefix.length());
+        if (id.isEmpty() || !id.chars().allMatch(Character::isDigit)) {
+            return null;
+        }
+        return Long.valueOf(id);
+    }
+
+    // {prefix}:api:action:index:{version}, 해당 version 에 존재하는 action id 목록 (SET)
+    public String actionIndex(String version) {
+        return prefix + ":api:action:index:" + version;
+    }
+
+    // action id 인덱스를 만드는 노드를 정하는 lock
+    public String actionIndexLock(String version) {
+        return actionIndex(version) + ":lock";
+    }
+
+    // READY 전환 알림 채널 (pub/sub)
+    public String queueAdmissionChannel() {
+        return prefix + ":queue:admitted";
+    }
+
     public String actionEventStream() {
         return prefix + ":infra:action_event:stream";
     }
@@ -50,12 +150,35 @@ public class RedisKeyBuilder {
         return prefix + ":landing_action_mapping:" + landingId;
     }
 
+    // {prefix}:action_group:{1}:request_log
     public String actionGroupRequestLog(Long actionGroupId) {
-        return prefix + ":action_group:" + actionGroupId + ":request_log";
+        return actionGroup(actionGroupId) + ":request_log";
     }
 
+    // {prefix}:action_group:{1}:access_log
     public String actionGroupAccessLog(Long actionGroupId) {
-        return prefix + ":action_group:" + actionGroupId + ":access_log";
+        return actionGroup(actionGroupId) + ":access_log";
+    }
+
+    // {prefix}:action_group:{1}:traffic:request:1718000000
+    public String actionGroupTrafficBucket(Long actionGroupId, String trafficType, long epochSecond) {
+        return actionGroup(actionGroupId) + ":traffic:" + trafficType + ":" + epochSecond;
+    }
+
+    // {prefix}:action_group:{1}:admission_credit:1718000000
+    public String actionGroupAdmissionCredit(Long actionGroupId, long epochSecond) {
+        return actionGroup(actionGroupId) + ":admission_credit:" + epochSecond;
+    }
+
+    // {prefix}:action_group:{1}:admission:leader
+    public String actionGroupAdmissionLeader(Long actionGroupId) {
+        return actionGroup(actionGroupId) + ":admission:leader";
+    }
+
+    // {prefix}:action_group:{1}:visitor:28633333 (epoch minute)
+    // 여러 분의 키를 PFCOUNT 한 번으로 합산할 수 있도록 키 레이아웃과 관계없이 ActionGroup ID를 hash tag로 사용
+    public String actionGroupVisitors(Long actionGroupId, long epochMinute) {
+        return prefix + ":action_group:{" + actionGroupId + "}:visitor:" + epochMinute;
     }
 
     // TODO 활성사용자 수 체크인데, session으로 이름지어져있음. 추후 key 명칭 변경 필요
@@ -63,11 +186,38 @@ public class RedisKeyBuilder {
         return prefix + ":session";
     }
 
-    public String customerSession(String customerId) {
+    // V1: {prefix}:customer:session:{customerId}
+    // V2: {prefix}:action_group:{1}:customer:session:{customerId}
+    public String customerSession(Long actionGroupId, String customerId) {
+        if (schema == RedisKeySchema.V2) {
+            return actionGroup(actionGroupId) + ":customer:session:" + customerId;
+        }
         return prefix + ":customer:session:" + customerId;
     }
 
+    // 정리 대상 키와 같은 slot에 위치하는 정리 lock 키
+    // {prefix}:action_group:{1}:queue:ENTERED -> {prefix}:action_group:{1}:queue:ENTERED:maintenance_lock
+    // {prefix}:session -> {{prefix}:session}:maintenance_lock
+    public String maintenanceLock(String key) {
+        int open = key.indexOf('{');
+        int close = open >= 0 ? key.indexOf('}', open + 1) : -1;
+        if (close > open + 1) { // hash tag가 있다면 같은 tag를 그대로 사용
+            return key + ":maintenance_lock";
+        }
+        return "{" + key + "}:maintenance_lock";
+    }
+
+    // {prefix}:entry_ticket:revoked
+    public String revokedEntryTickets() {
+        return prefix + ":entry_ticket:revoked";
+    }
+
+    // Action, ActionGroup 변경 알림 채널 (pub/sub)
+    public String configChangeChannel() {
+        return prefix + ":api:config:changed";
+    }
+
     public String actionVersion() {
         return prefix + ":api:action:version";
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,19 @@
+package com.winten.greenlight.core.support.util;
+
+/**
+ * Redis 키 레이아웃 버전입니다.
+ */
+public enum RedisKeySchema {
+    /**
+     * 기존 레이아웃: {prefix}:action_group:1:queue:WAITING, {prefix}:customer:session:{customerId}
+     * ActionGroup 단위 키들이 서로 다른 cluster slot에 흩어집니다.
+     */
+    V1,
+
+    /**
+     * hash tag 레이아웃: {prefix}:action_group:{1}:queue:WAITING, {prefix}:action_group:{1}:customer:session:{customerId}
+     * ActionGroup 단위 키와 고객 세션 키가 actionGroupId hash tag로 같은 cluster slot에 위치하므로
+     * 다중 키 스크립트, MULTI/EXEC, 파이프라인 처리가 가능합니다.
+     */
+    V2
+}
@@ -0,0 +1,73 @@
+package com.winten.greenlight.core.support.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 같은 key에 대한 동시 조회를 하나의 조회로 합칩니다.
+ * 조회가 진행 중인 동안 들어온 요청은 새로 조회하지 않고 진행 중인 결과(값, empty, 에러)를 함께 받으며,
+ * 조회가 끝나면 key를 비우므로 결과를 캐시하지는 않습니다.
+ * 캐시가 비어있는 순간 같은 Redis 키로 몰리는 요청을 한 번의 조회로 줄이기 위해 사용합니다.
+ *
+ * @param <K> 조회 key
+ * @param <V> 조회 결과
+ */
+public class SingleFlight<K, V> {
+    private final Map<K, Mono<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter executedCounter;
+    private final Counter coalescedCounter;
+
+    /**
+     * @param name          메트릭 tag로 사용할 이름
+     * @param meterRegistry 실제 조회 수(executed)와 합쳐진 요청 수(coalesced)를 집계할 MeterRegistry
+     */
+    public SingleFlight(String name, MeterRegistry meterRegistry) {
+        this.executedCounter = meterRegistry.counter("greenlight.single_flight.calls", "name", name, "result", "executed");
+        this.coalescedCounter = meterRegistry.counter("greenlight.single_flight.calls", "name", name, "result", "coalesced");
+    }
+
+    /**
+     * 같은 key의 조회가 진행 중이라면 그 결과를 반환하고, 아니라면 loader로 조회합니다.
+     * 조회는 요청한 쪽의 구독과 분리되어 수행되므로, 먼저 요청한 쪽이 취소해도 기다리는 다른 요청에는 결과가 전달됩니다.
+     */
+    public Mono<V> execute(K key, Supplier<Mono<V>> loader) {
+        return Mono.defer(() -> {
+            Sinks.One<V> sink = Sinks.one();
+            var flight = sink.asMono();
+            var existing = inFlight.putIfAbsent(key, flight);
+            if (existing != null) {
+                coalescedCounter.increment();
+                return existing;
+            }
+            executedCounter.increment();
+            Mono.defer(loader).subscribe(
+                    value -> {
+                        inFlight.remove(key, flight);
+                        sink.tryEmitValue(value);
+                    },
+                    e -> {
+                        inFlight.remove(key, flight);
+                        sink.tryEmitError(e);
+                    },
+                    () -> {
+                        inFlight.remove(key, flight);
+                        sink.tryEmitEmpty(); // 값이 이미 전달된 경우 무시됨
+                    }
+            );
+            return flight;
+        });
+    }
+
+    /**
+     * 현재 진행 중인 조회 수
+     */
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+}
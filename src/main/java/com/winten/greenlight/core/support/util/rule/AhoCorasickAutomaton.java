@@ -0,0 +1,75 @@
+package com.winten.greenlight.core.support.util.rule;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Queue;
+
+/**
+ * CONTAINS 규칙 값들을 한 번에 검사하는 Aho-Corasick 자동자입니다.
+ * 규칙 수와 관계없이 입력을 한 번만 훑어서 값 중 하나라도 포함되어 있는지 판단합니다.
+ */
+final class AhoCorasickAutomaton {
+    private final CharTrie.Node root = new CharTrie.Node();
+    private final boolean matchesEmpty;
+
+    AhoCorasickAutomaton(Collection<String> patterns) {
+        boolean empty = false;
+        for (String pattern : patterns) {
+            if (pattern.isEmpty()) { // 빈 문자열은 모든 입력에 포함됨
+                empty = true;
+                continue;
+            }
+            CharTrie.Node node = root;
+            for (int i = 0; i < pattern.length(); i++) {
+                node = node.childOrCreate(pattern.charAt(i));
+            }
+            node.terminal = true;
+        }
+        this.matchesEmpty = empty;
+        buildFailureLinks();
+    }
+
+    boolean matches(CharSequence source, int from, int to) {
+        if (matchesEmpty) {
+            return true;
+        }
+        CharTrie.Node state = root;
+        for (int i = from; i < to; i++) {
+            char c = source.charAt(i);
+            CharTrie.Node next;
+            while ((next = state.child(c)) == null && state != root) {
+                state = state.fail;
+            }
+            state = next != null ? next : root;
+            if (state.terminal) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // BFS로 failure link를 연결하고, failure 경로에 패턴 끝이 있다면 현재 노드도 매칭 노드로 표시
+    private void buildFailureLinks() {
+        Queue<CharTrie.Node> queue = new ArrayDeque<>();
+        for (CharTrie.Node child : root.children) {
+            child.fail = root;
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            CharTrie.Node node = queue.poll();
+            for (int i = 0; i < node.keys.length; i++) {
+                char c = node.keys[i];
+                CharTrie.Node child = node.children[i];
+                CharTrie.Node fail = node.fail;
+                CharTrie.Node target;
+                while ((target = fail.child(c)) == null && fail != root) {
+                    fail = fail.fail;
+                }
+                CharTrie.Node link = target != null ? target : root;
+                child.fail = link;
+                child.terminal |= link.terminal;
+                queue.add(child);
+            }
+        }
+    }
+}
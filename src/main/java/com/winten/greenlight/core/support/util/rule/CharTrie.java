@@ -0,0 +1,88 @@
+package com.winten.greenlight.core.support.util.rule;
+
+import java.util.Arrays;
+
+/**
+ * STARTSWITH / ENDSWITH 규칙 값을 담는 trie 입니다.
+ * ENDSWITH 규칙은 값을 뒤집어 저장하고 입력을 뒤에서부터 탐색합니다.
+ * 규칙 수와 관계없이 입력 길이만큼만 탐색합니다.
+ */
+final class CharTrie {
+    private final Node root = new Node();
+    private final boolean reversed;
+
+    private CharTrie(boolean reversed) {
+        this.reversed = reversed;
+    }
+
+    static CharTrie prefixes() {
+        return new CharTrie(false);
+    }
+
+    static CharTrie suffixes() {
+        return new CharTrie(true);
+    }
+
+    void add(String value) {
+        Node node = root;
+        for (int i = 0; i < value.length(); i++) {
+            node = node.childOrCreate(value.charAt(reversed ? value.length() - 1 - i : i));
+        }
+        node.terminal = true;
+    }
+
+    /**
+     * 입력 구간이 저장된 값 중 하나로 시작(ENDSWITH trie 라면 끝)하는지 확인합니다.
+     */
+    boolean matches(CharSequence source, int from, int to) {
+        Node node = root;
+        int length = to - from;
+        for (int i = 0; !node.terminal; i++) {
+            if (i == length) {
+                return false;
+            }
+            node = node.child(source.charAt(reversed ? to - 1 - i : from + i));
+            if (node == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 자식 노드를 정렬된 char 배열로 보관하여 탐색 시 boxing 없이 이진 탐색합니다.
+     */
+    static final class Node {
+        private static final char[] NO_KEYS = new char[0];
+        private static final Node[] NO_CHILDREN = new Node[0];
+
+        char[] keys = NO_KEYS;
+        Node[] children = NO_CHILDREN;
+        boolean terminal;
+        Node fail; // AhoCorasickAutomaton 에서만 사용
+
+        Node child(char c) {
+            int index = Arrays.binarySearch(keys, c);
+            return index >= 0 ? children[index] : null;
+        }
+
+        Node childOrCreate(char c) {
+            int index = Arrays.binarySearch(keys, c);
+            if (index >= 0) {
+                return children[index];
+            }
+            int insertAt = -index - 1;
+            char[] newKeys = new char[keys.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, insertAt);
+            System.arraycopy(children, 0, newChildren, 0, insertAt);
+            newKeys[insertAt] = c;
+            newChildren[insertAt] = new Node();
+            System.arraycopy(keys, insertAt, newKeys, insertAt + 1, keys.length - insertAt);
+            System.arraycopy(children, insertAt, newChildren, insertAt + 1, children.length - insertAt);
+            keys = newKeys;
+            children = newChildren;
+            return newChildren[insertAt];
+        }
+    }
+}
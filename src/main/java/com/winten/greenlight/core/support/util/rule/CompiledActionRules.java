@@ -0,0 +1,177 @@
+package com.winten.greenlight.core.support.util.rule;
+
+import com.winten.greenlight.core.domain.action.ActionRule;
+import com.winten.greenlight.core.domain.action.DefaultRuleType;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 한 Action의 {@link ActionRule} 목록을 paramName 별로 미리 컴파일한 결과입니다.
+ * EQUAL 은 hash 조회, STARTSWITH / ENDSWITH 는 trie, CONTAINS 는 Aho-Corasick 자동자로 검사하므로
+ * 규칙 수와 관계없이 쿼리 파라미터마다 한 번씩만 검사합니다.
+ * URL의 쿼리 스트링은 잘라내지 않고 구간(index)으로 검사하므로, percent-encoding 된 파라미터가 아니라면 평가 시 객체를 생성하지 않습니다.
+ *
+ * 연산자 판단은 String.equals / contains / startsWith / endsWith 와 같고, 파라미터 이름과 값은 URL 디코딩 후 비교합니다.
+ * 같은 이름의 파라미터가 여러 번 있다면 값 중 하나라도 일치하면 일치로 봅니다. (CompiledActionRulesTest)
+ * <ul>
+ *     <li>ALL, 또는 URL이 없는 경우: 대기열 적용</li>
+ *     <li>INCLUDE: 규칙 중 하나라도 일치할 때만 대기열 적용</li>
+ *     <li>EXCLUDE: 규칙 중 하나라도 일치하면 대기열 미적용</li>
+ * </ul>
+ */
+public final class CompiledActionRules {
+    private static final CompiledActionRules ALL = new CompiledActionRules(DefaultRuleType.ALL, Map.of());
+
+    private final DefaultRuleType defaultRuleType;
+    private final RegionHashSet paramNames;
+    private final ParamMatcher[] matchers; // index: paramNames 테이블 인덱스
+
+    private CompiledActionRules(DefaultRuleType defaultRuleType, Map<String, List<ActionRule>> rulesByParamName) {
+        this.defaultRuleType = defaultRuleType;
+        this.paramNames = new RegionHashSet(rulesByParamName.keySet());
+        this.matchers = new ParamMatcher[paramNames.capacity()];
+        rulesByParamName.forEach((paramName, rules) -> matchers[paramNames.indexOf(paramName)] = new ParamMatcher(rules));
+    }
+
+    public static CompiledActionRules compile(DefaultRuleType defaultRuleType, List<ActionRule> rules) {
+        if (defaultRuleType == null || defaultRuleType == DefaultRuleType.ALL) {
+            return ALL;
+        }
+        Map<String, List<ActionRule>> rulesByParamName = new HashMap<>();
+        if (rules != null) {
+            for (ActionRule rule : rules) {
+                // 비교할 수 없는 규칙(이름, 값, 연산자 중 null 이 있는 규칙)은 일치하지 않는 것으로 처리
+                if (rule.getParamName() == null || rule.getParamValue() == null || rule.getMatchOperator() == null) {
+                    continue;
+                }
+                rulesByParamName.computeIfAbsent(rule.getParamName(), name -> new ArrayList<>()).add(rule);
+            }
+        }
+        return new CompiledActionRules(defaultRuleType, rulesByParamName);
+    }
+
+    /**
+     * 요청 URL의 쿼리 파라미터로 대기열 적용 여부를 판단합니다.
+     *
+     * @param url 쿼리 스트링을 포함한 요청 URL (예: https://example.com/products?productId=1), 없다면 대기열 적용
+     */
+    public boolean isRequestSubjectToQueue(String url) {
+        if (defaultRuleType == DefaultRuleType.ALL || url == null) {
+            return true;
+        }
+        if (defaultRuleType == DefaultRuleType.INCLUDE) {
+            return anyRuleMatches(url); // 규칙 일치 -> 대기열 적용
+        }
+        if (defaultRuleType == DefaultRuleType.EXCLUDE) {
+            return !anyRuleMatches(url); // 규칙 일치 -> 대기열 미적용
+        }
+        return true; // 안전을 위해, 정의되지 않은 정책은 모두 대기열 적용
+    }
+
+    private boolean anyRuleMatches(String url) {
+        int queryStart = url.indexOf('?');
+        if (queryStart < 0) {
+            return false;
+        }
+        int queryEnd = url.indexOf('#', queryStart);
+        if (queryEnd < 0) {
+            queryEnd = url.length();
+        }
+        int start = queryStart + 1;
+        while (start < queryEnd) {
+            int end = url.indexOf('&', start);
+            if (end < 0 || end > queryEnd) {
+                end = queryEnd;
+            }
+            if (end > start && paramMatches(url, start, end)) {
+                return true;
+            }
+            start = end + 1;
+        }
+        return false;
+    }
+
+    // name=value 한 쌍을 검사
+    private boolean paramMatches(String url, int start, int end) {
+        int separator = -1;
+        boolean encoded = false;
+        for (int i = start; i < end; i++) {
+            char c = url.charAt(i);
+            if (c == '=' && separator < 0) {
+                separator = i;
+            } else if (c == '%' || c == '+') {
+                encoded = true;
+            }
+        }
+        int nameEnd = separator < 0 ? end : separator;
+        int valueStart = separator < 0 ? end : separator + 1;
+        if (encoded) { // percent-encoding 된 파라미터만 디코딩 후 검사
+            String name = decode(url.substring(start, nameEnd));
+            String value = decode(url.substring(valueStart, end));
+            int index = paramNames.indexOf(name);
+            return index >= 0 && matchers[index].matches(value, 0, value.length());
+        }
+        int index = paramNames.indexOf(url, start, nameEnd);
+        return index >= 0 && matchers[index].matches(url, valueStart, end);
+    }
+
+    private static String decode(String value) {
+        try {
+            return URLDecoder.decode(value, StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) { // 잘못된 인코딩은 원문 그대로 비교
+            return value;
+        }
+    }
+
+    /**
+     * 하나의 paramName 에 대한 규칙들입니다. 연산자별로 하나의 자료구조에 모아 검사합니다.
+     */
+    private static final class ParamMatcher {
+        private final RegionHashSet equalValues;
+        private final CharTrie prefixes;
+        private final CharTrie suffixes;
+        private final AhoCorasickAutomaton contains;
+
+        ParamMatcher(List<ActionRule> rules) {
+            List<String> equalValues = new ArrayList<>();
+            List<String> containsValues = new ArrayList<>();
+            CharTrie prefixes = null;
+            CharTrie suffixes = null;
+            for (ActionRule rule : rules) {
+                String value = rule.getParamValue();
+                switch (rule.getMatchOperator()) {
+                    case EQUAL -> equalValues.add(value);
+                    case CONTAINS -> containsValues.add(value);
+                    case STARTSWITH -> {
+                        if (prefixes == null) {
+                            prefixes = CharTrie.prefixes();
+                        }
+                        prefixes.add(value);
+                    }
+                    case ENDSWITH -> {
+                        if (suffixes == null) {
+                            suffixes = CharTrie.suffixes();
+                        }
+                        suffixes.add(value);
+                    }
+                }
+            }
+            this.equalValues = equalValues.isEmpty() ? null : new RegionHashSet(equalValues);
+            this.contains = containsValues.isEmpty() ? null : new AhoCorasickAutomaton(containsValues);
+            this.prefixes = prefixes;
+            this.suffixes = suffixes;
+        }
+
+        boolean matches(CharSequence source, int from, int to) {
+            return (equalValues != null && equalValues.contains(source, from, to))
+                    || (prefixes != null && prefixes.matches(source, from, to))
+                    || (suffixes != null && suffixes.matches(source, from, to))
+                    || (contains != null && contains.matches(source, from, to));
+        }
+    }
+}
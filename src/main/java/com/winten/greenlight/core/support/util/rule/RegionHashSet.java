@@ -0,0 +1,86 @@
+package com.winten.greenlight.core.support.util.rule;
+
+import java.util.Collection;
+
+/**
+ * 문자열의 일부 구간(region)으로 조회할 수 있는 불변 문자열 집합입니다.
+ * 조회할 구간을 substring 으로 잘라내지 않고 {@link String#hashCode()}와 같은 방식으로 hash를 계산한 뒤
+ * open addressing 테이블을 탐색하므로 조회 시 객체를 생성하지 않습니다.
+ */
+final class RegionHashSet {
+    private final String[] table;
+    private final int mask;
+
+    RegionHashSet(Collection<String> values) {
+        int capacity = Integer.highestOneBit(Math.max(values.size(), 1) * 2 - 1) << 1; // load factor 0.5 이하
+        this.table = new String[capacity];
+        this.mask = capacity - 1;
+        for (String value : values) {
+            int index = spread(value.hashCode()) & mask;
+            while (table[index] != null && !table[index].equals(value)) {
+                index = (index + 1) & mask;
+            }
+            table[index] = value;
+        }
+    }
+
+    boolean contains(CharSequence source, int from, int to) {
+        int index = spread(hash(source, from, to)) & mask;
+        String candidate;
+        while ((candidate = table[index]) != null) {
+            if (regionEquals(candidate, source, from, to)) {
+                return true;
+            }
+            index = (index + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * 조회된 값의 테이블 인덱스를 반환합니다. 없다면 -1을 반환합니다.
+     */
+    int indexOf(CharSequence source, int from, int to) {
+        int index = spread(hash(source, from, to)) & mask;
+        String candidate;
+        while ((candidate = table[index]) != null) {
+            if (regionEquals(candidate, source, from, to)) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    int indexOf(String value) {
+        return indexOf(value, 0, value.length());
+    }
+
+    int capacity() {
+        return table.length;
+    }
+
+    private static boolean regionEquals(String candidate, CharSequence source, int from, int to) {
+        if (candidate.length() != to - from) {
+            return false;
+        }
+        for (int i = 0; i < candidate.length(); i++) {
+            if (candidate.charAt(i) != source.charAt(from + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // String.hashCode() 와 동일한 계산
+    private static int hash(CharSequence source, int from, int to) {
+        int h = 0;
+        for (int i = from; i < to; i++) {
+            h = 31 * h + source.charAt(i);
+        }
+        return h;
+    }
+
+    private static int spread(int h) {
+        return h ^ (h >>> 16);
+    }
+}
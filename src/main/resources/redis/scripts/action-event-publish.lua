@@ -0,0 +1,22 @@
+-- 버퍼에 쌓인 대기열 이벤트를 한 번의 호출로 Redis Stream에 기록합니다.
+--
+-- KEYS[1] 이벤트 스트림 (STREAM)
+-- ARGV[1] 스트림 최대 길이 (MAXLEN ~, 근사치로 trim)
+-- ARGV[2..] 이벤트별 { field 수 n, field_1, value_1, ..., field_n, value_n } 반복
+--
+-- return 기록된 이벤트 수
+
+local maxLen = ARGV[1]
+local published = 0
+local i = 2
+while i <= #ARGV do
+    local fieldCount = tonumber(ARGV[i])
+    local args = { KEYS[1], 'MAXLEN', '~', maxLen, '*' }
+    for j = i + 1, i + fieldCount * 2 do
+        args[#args + 1] = ARGV[j]
+    end
+    redis.call('XADD', unpack(args))
+    published = published + 1
+    i = i + fieldCount * 2 + 1
+end
+return published
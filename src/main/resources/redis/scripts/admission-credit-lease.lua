@@ -0,0 +1,41 @@
+-- ActionGroup의 초당 입장 허용량 중 일부를 노드에 임대합니다.
+-- 진입 스크립트(queue-entry.lua)와 같은 기준으로 판단합니다.
+-- WAITING 대기열에 고객이 있거나 최근 초당 요청 수가 maxTrafficPerSecond 이상이라면 대기 순서를 지키기 위해 임대하지 않으며,
+-- 임대량은 남은 요청 수 여유분을 넘지 않습니다. 임대된 크레딧으로 입장한 고객도 진입 스크립트에서 요청 로그에 기록됩니다.
+--
+-- KEYS[1] 현재 초의 입장 허용량 사용 버킷 (STRING)
+-- KEYS[2] WAITING 대기열 (ZSET)
+-- KEYS[3 .. 2 + W] 요청 트래픽 버킷 (STRING, 오래된 순서, 마지막 키가 현재 초), W = ARGV[4]
+--
+-- ARGV[1] maxTrafficPerSecond
+-- ARGV[2] 요청 임대량
+-- ARGV[3] 버킷 TTL (초)
+-- ARGV[4] 초당 요청 수 집계 구간 (초), W
+-- ARGV[5] 스크립트 밖에서 집계된 추가 대기고객 수 (키 레이아웃 전환 중 이전 WAITING 대기열 고객 수)
+--
+-- return 임대된 허용량 (0이면 임대 불가)
+
+local maxTrafficPerSecond = tonumber(ARGV[1])
+local windowSeconds = tonumber(ARGV[4])
+
+if redis.call('ZCARD', KEYS[2]) + (tonumber(ARGV[5]) or 0) > 0 then
+    return 0
+end
+
+local requestCount = 0
+for _, count in ipairs(redis.call('MGET', unpack(KEYS, 3, 2 + windowSeconds))) do
+    requestCount = requestCount + (tonumber(count) or 0)
+end
+-- 초당 요청 수가 maxTrafficPerSecond 에 닿기 전까지 남은 요청 수
+local requestBudget = maxTrafficPerSecond * windowSeconds - requestCount
+
+local used = tonumber(redis.call('GET', KEYS[1]) or '0')
+local granted = math.min(tonumber(ARGV[2]), maxTrafficPerSecond - used, requestBudget)
+if granted <= 0 then
+    return 0
+end
+
+if redis.call('INCRBY', KEYS[1], granted) == granted then
+    redis.call('EXPIRE', KEYS[1], ARGV[3])
+end
+return granted
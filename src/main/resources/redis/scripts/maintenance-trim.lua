@@ -0,0 +1,31 @@
+-- 계속 늘어나는 ZSET에서 score(기록 시간)가 오래된 멤버를 limit 개까지 제거합니다.
+-- 키마다 lock으로 정리 노드 하나를 정하며, lock 획득/연장도 같은 호출에서 처리합니다.
+-- ZSET은 score 순으로 정렬되어 있으므로 maxScore 이하 멤버는 앞쪽 rank에 모여 있어, 멤버를 읽지 않고 rank 범위로 제거합니다.
+--
+-- KEYS[1] 정리 lock (STRING)
+-- KEYS[2] 정리 대상 (ZSET, score = epoch millis)
+--
+-- ARGV[1] 노드 ID
+-- ARGV[2] lock TTL (millis)
+-- ARGV[3] 이 score 이하의 멤버 제거
+-- ARGV[4] 한 번에 제거할 최대 멤버 수
+--
+-- 두 KEYS는 같은 cluster slot에 있어야 합니다. (RedisKeyBuilder.maintenanceLock)
+--
+-- return { -1 } 다른 노드가 정리 중인 경우
+--        { 제거한 멤버 수, 아직 남은 제거 대상 멤버 수 }
+
+local owner = redis.call('GET', KEYS[1])
+if owner == ARGV[1] then
+    redis.call('PEXPIRE', KEYS[1], ARGV[2])
+elseif not redis.call('SET', KEYS[1], ARGV[1], 'NX', 'PX', ARGV[2]) then
+    return { -1 }
+end
+
+local expired = redis.call('ZCOUNT', KEYS[2], '-inf', ARGV[3])
+if expired == 0 then
+    return { 0, 0 }
+end
+local limit = math.min(expired, tonumber(ARGV[4]))
+local removed = redis.call('ZREMRANGEBYRANK', KEYS[2], 0, limit - 1)
+return { removed, expired - removed }
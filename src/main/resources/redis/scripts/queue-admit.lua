@@ -0,0 +1,66 @@
+-- ActionGroup의 WAITING 고객을 READY로 옮기고, 대기열 상태(status)를 기록합니다.
+-- ActionGroup별 리더 노드만 수행하며, 리더 lock 획득/연장도 같은 호출에서 처리합니다.
+--
+-- KEYS[1] 리더 lock (STRING)
+-- KEYS[2] WAITING 대기열 (ZSET)
+-- KEYS[3] READY 대기열 (ZSET)
+-- KEYS[4] 현재 초의 입장 허용량 사용 버킷 (STRING, 입장 크레딧과 공유)
+-- KEYS[5] 대기열 상태 (HASH)
+-- KEYS[6] 입장 완료 커서 (STRING, SEQUENCE 모드)
+--
+-- ARGV[1] 노드 ID
+-- ARGV[2] lock TTL (millis)
+-- ARGV[3] maxTrafficPerSecond
+-- ARGV[4] 현재 시간 (epoch millis, READY score)
+-- ARGV[5] 허용량 버킷 TTL (초)
+-- ARGV[6] 한 번에 입장시킬 최대 고객 수
+-- ARGV[7] SEQUENCE 모드라면 1 (옮긴 고객의 티켓 번호로 입장 완료 커서 전진)
+--
+-- 모든 KEYS는 같은 cluster slot에 있어야 합니다. (redis.key-schema: V2)
+--
+-- return { -1 } 리더가 아닌 경우
+--        { 남은 WAITING 고객 수, 입장시킨 customerId ... }
+
+local owner = redis.call('GET', KEYS[1])
+if owner == ARGV[1] then
+    redis.call('PEXPIRE', KEYS[1], ARGV[2])
+elseif not redis.call('SET', KEYS[1], ARGV[1], 'NX', 'PX', ARGV[2]) then
+    return { -1 }
+end
+
+local maxTrafficPerSecond = tonumber(ARGV[3])
+local used = tonumber(redis.call('GET', KEYS[4])) or 0
+local available = maxTrafficPerSecond - used
+local count = math.min(available, tonumber(ARGV[6]))
+
+local admitted = {}
+if count > 0 then
+    local popped = redis.call('ZPOPMIN', KEYS[2], count)
+    local lastScore
+    for i = 1, #popped, 2 do
+        redis.call('ZADD', KEYS[3], ARGV[4], popped[i])
+        admitted[#admitted + 1] = popped[i]
+        lastScore = tonumber(popped[i + 1])
+    end
+    if #admitted > 0 then
+        if redis.call('INCRBY', KEYS[4], #admitted) == #admitted then
+            redis.call('EXPIRE', KEYS[4], ARGV[5])
+        end
+        available = available - #admitted
+        if ARGV[7] == '1' and lastScore > (tonumber(redis.call('GET', KEYS[6])) or 0) then
+            redis.call('SET', KEYS[6], lastScore)
+        end
+    end
+end
+
+local waitingCount = redis.call('ZCARD', KEYS[2])
+redis.call('HSET', KEYS[5],
+        'waitingQueueSize', waitingCount,
+        'availableCapacity', math.max(available, 0),
+        'updatedAt', ARGV[4])
+
+local result = { waitingCount }
+for i = 1, #admitted do
+    result[i + 1] = admitted[i]
+end
+return result
@@ -0,0 +1,115 @@
+-- 신규 진입 고객들을 한 번의 호출로 처리합니다.
+-- 고객마다 대기 필요 여부 판단, 대기열 등록, 세션 저장, 요청 로그 기록, 순번 조회를 원자적으로 수행하며,
+-- 여러 고객을 전달하면 전달된 순서대로 한 명씩 처리한 것과 같은 결과가 됩니다.
+--
+-- KEYS[1] WAITING 대기열 (ZSET)
+-- KEYS[2] READY 대기열 (ZSET)
+-- KEYS[3] 티켓 발급 카운터 (STRING, SEQUENCE 모드)
+-- KEYS[4 .. 3 + W] 요청 트래픽 버킷 (STRING, 오래된 순서, 마지막 키가 현재 초), W = ARGV[6]
+-- KEYS[4 + W .. 3 + W + N] 고객 세션 (HASH), 고객 순서대로
+-- KEYS[4 + W + N] 현재 분의 방문자 HyperLogLog (ARGV[10] 이 0보다 큰 경우에만 전달)
+--
+-- ARGV[1] maxTrafficPerSecond
+-- ARGV[2] 세션 TTL (초)
+-- ARGV[3] 세션에 저장할 WAITING 상태 값
+-- ARGV[4] 세션에 저장할 READY 상태 값
+-- ARGV[5] 스크립트 밖에서 집계된 추가 대기고객 수 (키 레이아웃 전환 중 이전 WAITING 대기열 고객 수)
+-- ARGV[6] 초당 요청 수 집계 구간 (초), W
+-- ARGV[7] 트래픽 버킷 TTL (초)
+-- ARGV[8] SEQUENCE 모드라면 1 (WAITING 대기열 score로 티켓 번호 사용), 아니면 0
+-- ARGV[9] 고객 수 N
+-- ARGV[10] 방문자 HyperLogLog TTL (초), 0이면 방문자를 기록하지 않음 (greenlight.concurrent-user.store: ZSET)
+-- ARGV[11..] 고객별 { customerId, 진입 시간 (epoch millis), 입장 허용량 확보 여부 (1이면 판단 없이 READY로 등록), 세션 field 수 k, field_1, value_1, ..., field_k, value_k }
+--   세션 field 에는 waitStatus, ticketNo 가 포함되지 않습니다.
+--
+-- 모든 KEYS는 같은 cluster slot에 있어야 합니다. (redis.key-schema: V2)
+--
+-- return 고객 순서대로 { 'WAITING' | 'READY', rank, ticketNo } 반복
+--   rank 는 0부터 시작, 이미 등록된 고객이거나 SEQUENCE 모드라면 -1
+--   ticketNo 는 SEQUENCE 모드에서 WAITING 대기열에 등록된 경우의 티켓 번호, 아니면 -1
+
+local maxTrafficPerSecond = tonumber(ARGV[1]) or 0
+local windowSeconds = tonumber(ARGV[6])
+local sequenceMode = ARGV[8] == '1'
+local entrantCount = tonumber(ARGV[9])
+local visitorTtl = tonumber(ARGV[10])
+
+local firstBucket, currentBucket = 4, 3 + windowSeconds
+local requestCount = 0
+for _, count in ipairs(redis.call('MGET', unpack(KEYS, firstBucket, currentBucket))) do
+    requestCount = requestCount + (tonumber(count) or 0)
+end
+local legacyWaitingCount = tonumber(ARGV[5]) or 0
+
+local function isWaitingRequired(preAdmitted)
+    if preAdmitted then
+        return false
+    end
+    -- 대기고객이 있는 경우 무조건 웨이팅, 없는 경우 활성사용자수가 최대 활성사용자수보다 적으면 입장 가능
+    local waitingCount = redis.call('ZCARD', KEYS[1]) + legacyWaitingCount
+    local requestPerSec = requestCount / windowSeconds
+    return waitingCount > 0 or requestPerSec >= maxTrafficPerSecond
+end
+
+local result = {}
+local visitors = {}
+local argIndex = 11
+for entrant = 1, entrantCount do
+    local customerId = ARGV[argIndex]
+    local timestamp = ARGV[argIndex + 1]
+    local preAdmitted = ARGV[argIndex + 2] == '1'
+    local fieldCount = tonumber(ARGV[argIndex + 3])
+    local sessionKey = KEYS[currentBucket + entrant]
+
+    local status, queueKey, sessionStatus
+    if isWaitingRequired(preAdmitted) then
+        status, queueKey, sessionStatus = 'WAITING', KEYS[1], ARGV[3]
+    else
+        status, queueKey, sessionStatus = 'READY', KEYS[2], ARGV[4]
+    end
+
+    local rank, ticketNo = -1, -1
+    local sessionFields = { 'waitStatus', sessionStatus }
+    if status == 'WAITING' and sequenceMode then
+        -- 이미 대기중인 고객은 기존 티켓을 유지 (새 티켓을 발급하면 기존 번호가 순번 계산에서 빈 칸으로 남음)
+        local ticket = redis.call('ZSCORE', queueKey, customerId)
+        if ticket then
+            ticketNo = tonumber(ticket)
+        else
+            ticketNo = redis.call('INCR', KEYS[3])
+            redis.call('ZADD', queueKey, ticketNo, customerId)
+        end
+        sessionFields[#sessionFields + 1] = 'ticketNo'
+        sessionFields[#sessionFields + 1] = tostring(ticketNo)
+    elseif redis.call('ZADD', queueKey, timestamp, customerId) == 1 then
+        rank = redis.call('ZRANK', queueKey, customerId)
+    end
+
+    for i = argIndex + 4, argIndex + 3 + fieldCount * 2 do
+        sessionFields[#sessionFields + 1] = ARGV[i]
+    end
+    redis.call('HSET', sessionKey, unpack(sessionFields))
+    redis.call('EXPIRE', sessionKey, ARGV[2])
+
+    -- 활성사용자수 계산을 위한 요청 기록 (현재 초 버킷)
+    if redis.call('INCR', KEYS[currentBucket]) == 1 then
+        redis.call('EXPIRE', KEYS[currentBucket], ARGV[7])
+    end
+    requestCount = requestCount + 1
+    -- 5분 동시접속자 수 계산을 위한 방문 기록 (customerId의 actionId를 제외한 고유번호)
+    visitors[#visitors + 1] = string.match(customerId, '^[^:]*:([^:]*)') or customerId
+
+    result[#result + 1] = status
+    result[#result + 1] = rank
+    result[#result + 1] = ticketNo
+    argIndex = argIndex + 4 + fieldCount * 2
+end
+
+if visitorTtl > 0 and #visitors > 0 then
+    local visitorKey = KEYS[currentBucket + entrantCount + 1]
+    redis.call('PFADD', visitorKey, unpack(visitors))
+    if redis.call('TTL', visitorKey) < 0 then
+        redis.call('EXPIRE', visitorKey, visitorTtl)
+    end
+end
+return result
@@ -0,0 +1,39 @@
+-- 고객을 대기열에서 제거합니다. 직접 이탈 요청과 대기 임대(lease) 만료 정리에서 함께 사용합니다.
+-- SEQUENCE 모드에서 WAITING 고객을 제거하면 뒤 순번 고객의 순번 보정을 위해 티켓 번호를 취소 티켓에 기록합니다.
+--
+-- KEYS[1] WAITING 대기열 (ZSET)
+-- KEYS[2] READY 대기열 (ZSET)
+-- KEYS[3] 취소 티켓 (ZSET, score = 티켓 번호, SEQUENCE 모드)
+-- KEYS[4] 대기 임대 (ZSET, score = 만료 시간 epoch millis)
+--
+-- ARGV[1] SEQUENCE 모드라면 1, 아니면 0
+-- ARGV[2] 임대 만료 기준 시간 (epoch millis). 0이면 직접 이탈로 보고 WAITING, READY 대기열에서 무조건 제거하며,
+--         0보다 크면 임대가 이 시간 이전에 만료된 WAITING 고객만 제거 (정리 중 임대가 갱신된 고객은 유지)
+-- ARGV[3..] customerId
+--
+-- 모든 KEYS는 같은 cluster slot에 있어야 합니다. (redis.key-schema: V2)
+--
+-- return 대기열에서 제거된 customerId 목록
+
+local sequenceMode = ARGV[1] == '1'
+local expiredBefore = tonumber(ARGV[2])
+
+local removed = {}
+for i = 3, #ARGV do
+    local customerId = ARGV[i]
+    local leaseExpiresAt = tonumber(redis.call('ZSCORE', KEYS[4], customerId))
+    if expiredBefore == 0 or (leaseExpiresAt and leaseExpiresAt <= expiredBefore) then
+        local ticket = redis.call('ZSCORE', KEYS[1], customerId)
+        if ticket then
+            redis.call('ZREM', KEYS[1], customerId)
+            if sequenceMode then
+                redis.call('ZADD', KEYS[3], ticket, customerId)
+            end
+            removed[#removed + 1] = customerId
+        elseif expiredBefore == 0 and redis.call('ZREM', KEYS[2], customerId) == 1 then
+            removed[#removed + 1] = customerId
+        end
+        redis.call('ZREM', KEYS[4], customerId)
+    end
+end
+return removed
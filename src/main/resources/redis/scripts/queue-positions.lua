@@ -0,0 +1,21 @@
+-- 한 ActionGroup에 연결된 여러 고객의 대기 순번을 한 번의 호출로 조회합니다.
+--
+-- KEYS[1] WAITING 대기열 (ZSET)
+-- KEYS[2] READY 대기열 (ZSET)
+-- ARGV[1..] customerId 목록
+--
+-- return { WAITING 대기열 크기, rank_1, rank_2, ... }
+--   rank 는 WAITING 대기열의 순번 (0부터 시작), READY 상태라면 -1, 두 대기열 모두에 없다면 -2
+
+local result = { redis.call('ZCARD', KEYS[1]) }
+for i = 1, #ARGV do
+    local rank = redis.call('ZRANK', KEYS[1], ARGV[i])
+    if rank then
+        result[i + 1] = rank
+    elseif redis.call('ZSCORE', KEYS[2], ARGV[i]) then
+        result[i + 1] = -1
+    else
+        result[i + 1] = -2
+    end
+end
+return result
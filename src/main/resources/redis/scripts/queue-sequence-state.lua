@@ -0,0 +1,44 @@
+-- SEQUENCE 모드에서 한 ActionGroup의 대기열 상태를 조회합니다.
+-- 입장 완료 커서는 저장된 값과 "WAITING 대기열 첫 티켓 - 1" 중 큰 값으로 전진시키고,
+-- 커서 이전의 취소 티켓은 더 이상 순번 계산에 필요 없으므로 정리합니다.
+--
+-- KEYS[1] WAITING 대기열 (ZSET, score = 티켓 번호)
+-- KEYS[2] READY 대기열 (ZSET)
+-- KEYS[3] 티켓 발급 카운터 (STRING)
+-- KEYS[4] 입장 완료 커서 (STRING)
+-- KEYS[5] 취소 티켓 (ZSET, score = 티켓 번호)
+-- ARGV[1..] 티켓 번호를 조회할 customerId 목록
+--
+-- return { lastTicket, admittedCursor, 취소 티켓 수 n, 취소 티켓 1..n, 고객별 티켓 번호 (READY -1, 없음 -2) }
+
+local lastTicket = tonumber(redis.call('GET', KEYS[3])) or 0
+local cursor = tonumber(redis.call('GET', KEYS[4])) or 0
+
+local head = redis.call('ZRANGE', KEYS[1], 0, 0, 'WITHSCORES')
+local derived = lastTicket
+if #head > 0 then
+    derived = tonumber(head[2]) - 1
+end
+if derived > cursor then
+    cursor = derived
+    redis.call('SET', KEYS[4], cursor)
+end
+
+redis.call('ZREMRANGEBYSCORE', KEYS[5], '-inf', cursor)
+local cancelled = redis.call('ZRANGE', KEYS[5], 0, -1, 'WITHSCORES')
+
+local result = { lastTicket, cursor, #cancelled / 2 }
+for i = 2, #cancelled, 2 do
+    result[#result + 1] = tonumber(cancelled[i])
+end
+for i = 1, #ARGV do
+    local ticket = redis.call('ZSCORE', KEYS[1], ARGV[i])
+    if ticket then
+        result[#result + 1] = tonumber(ticket)
+    elseif redis.call('ZSCORE', KEYS[2], ARGV[i]) then
+        result[#result + 1] = -1
+    else
+        result[#result + 1] = -2
+    end
+end
+return result
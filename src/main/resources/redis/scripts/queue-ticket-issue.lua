@@ -0,0 +1,18 @@
+-- SEQUENCE 모드에서 WAITING 대기열 진입 고객에게 티켓 번호를 발급하고 대기열에 추가합니다. (순차 진입 경로)
+-- 이미 대기중인 고객은 기존 티켓을 유지합니다. 새 티켓을 발급하면 기존 번호가 순번 계산에서 빈 칸으로 남습니다.
+--
+-- KEYS[1] WAITING 대기열 (ZSET, score = 티켓 번호)
+-- KEYS[2] 티켓 발급 번호 (STRING)
+-- ARGV[1] customerId
+--
+-- 모든 KEYS는 같은 cluster slot에 있어야 합니다. (redis.key-schema: V2)
+--
+-- return 티켓 번호
+
+local ticket = redis.call('ZSCORE', KEYS[1], ARGV[1])
+if ticket then
+    return tonumber(ticket)
+end
+local ticketNo = redis.call('INCR', KEYS[2])
+redis.call('ZADD', KEYS[1], ticketNo, ARGV[1])
+return ticketNo
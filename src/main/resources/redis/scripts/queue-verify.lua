@@ -0,0 +1,61 @@
+-- 입장권 검증과 READY -> ENTERED 전환을 한 번의 호출로 처리합니다.
+--
+-- KEYS[1] 고객 세션 (HASH)
+-- KEYS[2] READY 대기열 (ZSET)
+-- KEYS[3] ENTERED 대기열 (ZSET)
+-- KEYS[4] 입장 트래픽 버킷 (STRING, 현재 초)
+-- KEYS[5] 현재 분의 방문자 HyperLogLog (ARGV[5] 가 0보다 큰 경우에만 전달)
+--
+-- ARGV[1] customerId
+-- ARGV[2] 현재 시간 (epoch millis)
+-- ARGV[3] 세션에 저장할 verified 값 (true)
+-- ARGV[4] 트래픽 버킷 TTL (초)
+-- ARGV[5] 방문자 HyperLogLog TTL (초), 0이면 방문자를 기록하지 않음 (greenlight.concurrent-user.store: ZSET)
+--
+-- 모든 KEYS는 같은 cluster slot에 있어야 합니다. (redis.key-schema: V2)
+--
+-- return { 'ENTERED' | 'ALREADY_VERIFIED' | 'NOT_READY' | 'NOT_FOUND', 세션 field, value ... }
+--   세션은 전환 이전의 값입니다.
+
+local session = redis.call('HGETALL', KEYS[1])
+if #session == 0 then
+    return { 'NOT_FOUND' }
+end
+
+local function withSession(decision)
+    local result = { decision }
+    for i = 1, #session do
+        result[i + 1] = session[i]
+    end
+    return result
+end
+
+-- 이미 대기열에 한번 입장했던 고객인 경우 바로 입장
+if redis.call('HGET', KEYS[1], 'verified') == ARGV[3] then
+    return withSession('ALREADY_VERIFIED')
+end
+
+if not redis.call('ZSCORE', KEYS[2], ARGV[1]) then
+    return withSession('NOT_READY')
+end
+
+redis.call('HSET', KEYS[1], 'verified', ARGV[3])
+redis.call('HINCRBY', KEYS[1], 'accessCount', 1)
+redis.call('ZREM', KEYS[2], ARGV[1])
+redis.call('ZADD', KEYS[3], ARGV[2], ARGV[1])
+
+-- 입장 기록 (현재 초 버킷)
+if redis.call('INCR', KEYS[4]) == 1 then
+    redis.call('EXPIRE', KEYS[4], ARGV[4])
+end
+
+-- 5분 동시접속자 수 계산을 위한 방문 기록 (customerId의 actionId를 제외한 고유번호)
+local visitorTtl = tonumber(ARGV[5]) or 0
+if visitorTtl > 0 then
+    redis.call('PFADD', KEYS[5], string.match(ARGV[1], '^[^:]*:([^:]*)') or ARGV[1])
+    if redis.call('TTL', KEYS[5]) < 0 then
+        redis.call('EXPIRE', KEYS[5], visitorTtl)
+    end
+end
+
+return withSession('ENTERED')
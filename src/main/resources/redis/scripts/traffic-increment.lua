@@ -0,0 +1,12 @@
+-- 초 단위 트래픽 버킷을 1 증가시키고, 처음 생성된 버킷이라면 TTL을 설정합니다.
+--
+-- KEYS[1] 트래픽 버킷 (STRING)
+-- ARGV[1] 버킷 TTL (초)
+--
+-- return 증가 후의 버킷 값
+
+local count = redis.call('INCR', KEYS[1])
+if count == 1 then
+    redis.call('EXPIRE', KEYS[1], ARGV[1])
+end
+return count
@@ -0,0 +1,13 @@
+-- 분 단위 방문자 HyperLogLog에 고객을 추가하고, TTL이 없다면 설정합니다.
+--
+-- KEYS[1] 방문자 HyperLogLog (현재 분)
+-- ARGV[1] HyperLogLog TTL (초)
+-- ARGV[2..] 고객 고유번호
+--
+-- return HyperLogLog가 변경되었다면 1, 아니면 0
+
+local changed = redis.call('PFADD', KEYS[1], unpack(ARGV, 2))
+if redis.call('TTL', KEYS[1]) < 0 then
+    redis.call('EXPIRE', KEYS[1], ARGV[1])
+end
+return changed
@@ -0,0 +1,246 @@
+package com.winten.greenlight.core.support.util.rule;
+
+import com.winten.greenlight.core.domain.action.ActionRule;
+import com.winten.greenlight.core.domain.action.DefaultRuleType;
+import com.winten.greenlight.core.domain.action.MatchOperator;
+import org.junit.jupiter.api.Test;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * CompiledActionRules 가 이전 RuleMatcher 의 연산자 판단(String.equals / contains / startsWith / endsWith)과
+ * INCLUDE / EXCLUDE 해석을 그대로 따르는지 확인합니다.
+ */
+class CompiledActionRulesTest {
+    private static final String URL = "https://example.com/products";
+
+    @Test
+    void allOrNullUrlIsAlwaysSubjectToQueue() {
+        var rules = List.of(rule("q", MatchOperator.EQUAL, "a"));
+
+        assertTrue(CompiledActionRules.compile(DefaultRuleType.ALL, rules).isRequestSubjectToQueue(URL + "?q=b"));
+        assertTrue(CompiledActionRules.compile(null, rules).isRequestSubjectToQueue(URL + "?q=b"));
+        assertTrue(CompiledActionRules.compile(DefaultRuleType.INCLUDE, rules).isRequestSubjectToQueue(null));
+        assertTrue(CompiledActionRules.compile(DefaultRuleType.EXCLUDE, rules).isRequestSubjectToQueue(null));
+    }
+
+    @Test
+    void urlWithoutQueryMatchesNoRule() {
+        var rules = List.of(rule("q", MatchOperator.CONTAINS, ""));
+
+        assertFalse(CompiledActionRules.compile(DefaultRuleType.INCLUDE, rules).isRequestSubjectToQueue(URL));
+        assertTrue(CompiledActionRules.compile(DefaultRuleType.EXCLUDE, rules).isRequestSubjectToQueue(URL));
+    }
+
+    @Test
+    void incompleteRulesNeverMatch() {
+        var rules = List.of(
+                rule(null, MatchOperator.EQUAL, "a"),
+                rule("q", null, "a"),
+                rule("q", MatchOperator.EQUAL, null)
+        );
+
+        assertFalse(CompiledActionRules.compile(DefaultRuleType.INCLUDE, rules).isRequestSubjectToQueue(URL + "?q=a"));
+        assertTrue(CompiledActionRules.compile(DefaultRuleType.EXCLUDE, rules).isRequestSubjectToQueue(URL + "?q=a"));
+    }
+
+    @Test
+    void operatorsFollowRuleMatcherTable() {
+        String[] ruleValues = {"", "a", "ab", "abc", "bc", "c", "abcabc", "한글"};
+        String[] requestValues = {"", "a", "ab", "abc", "xabcx", "cab", "abcabc", "bcabc", "한글", "글한글"};
+        for (MatchOperator operator : MatchOperator.values()) {
+            for (String ruleValue : ruleValues) {
+                for (String requestValue : requestValues) {
+                    assertSameAsRuleMatcher(List.of(rule("q", operator, ruleValue)), Map.of("q", requestValue));
+                }
+            }
+        }
+    }
+
+    @Test
+    void randomRulesFollowRuleMatcherTable() {
+        var random = new Random(20251001L);
+        String[] paramNames = {"p", "q", "Aa", "BB"}; // Aa, BB 는 hashCode 가 같음
+        for (int round = 0; round < 2_000; round++) {
+            var rules = new ArrayList<ActionRule>();
+            for (int i = random.nextInt(8); i > 0; i--) {
+                rules.add(rule(paramNames[random.nextInt(paramNames.length)],
+                        MatchOperator.values()[random.nextInt(MatchOperator.values().length)],
+                        randomValue(random, 4)));
+            }
+            var params = new LinkedHashMap<String, String>();
+            for (String paramName : paramNames) {
+                if (random.nextBoolean()) {
+                    params.put(paramName, randomValue(random, 8));
+                }
+            }
+            assertSameAsRuleMatcher(rules, params);
+        }
+    }
+
+    @Test
+    void containsFollowsFailureLinks() {
+        // "abc" 에서 'e' 를 만나면 failure link 로 "bc" 로 이동한 뒤 "bce" 를 찾아야 함
+        assertContains(List.of("abcd", "bce"), "abce", true);
+        // 다른 패턴의 접미사로 끝나는 패턴은 failure 경로를 따라 매칭 노드로 표시되어야 함
+        assertContains(List.of("abcde", "cd"), "abcdx", true);
+        assertContains(List.of("he", "she", "his", "hers"), "ushers", true);
+        assertContains(List.of("aab"), "aaab", true);
+        assertContains(List.of("abcd", "cbcd"), "abcbcd", true);
+        assertContains(List.of("abcd", "bcf"), "abcbce", false);
+        assertContains(List.of("aab"), "abab", false);
+    }
+
+    @Test
+    void endsWithMatchesReversedSuffixes() {
+        var rules = List.of(
+                rule("q", MatchOperator.ENDSWITH, "ing"),
+                rule("q", MatchOperator.ENDSWITH, "thing")
+        );
+        var compiled = CompiledActionRules.compile(DefaultRuleType.INCLUDE, rules);
+
+        assertTrue(compiled.isRequestSubjectToQueue(URL + "?q=something"));
+        assertTrue(compiled.isRequestSubjectToQueue(URL + "?q=ing"));
+        assertFalse(compiled.isRequestSubjectToQueue(URL + "?q=ng"));
+        assertFalse(compiled.isRequestSubjectToQueue(URL + "?q=ingx"));
+        // 값 구간 뒤에 다른 파라미터가 있어도 구간의 끝에서부터 비교
+        assertTrue(compiled.isRequestSubjectToQueue(URL + "?q=sing&p=x"));
+        assertFalse(compiled.isRequestSubjectToQueue(URL + "?q=sin&p=ing"));
+    }
+
+    @Test
+    void equalAndParamNameLookupProbeCollidingHashes() {
+        // "Aa", "BB" 와 이를 이어 붙인 값은 hashCode 가 모두 같아 같은 테이블 위치에서 탐색을 시작함
+        var rules = List.of(
+                rule("Aa", MatchOperator.EQUAL, "AaAa"),
+                rule("Aa", MatchOperator.EQUAL, "BBBB"),
+                rule("BB", MatchOperator.EQUAL, "AaBB")
+        );
+        var compiled = CompiledActionRules.compile(DefaultRuleType.INCLUDE, rules);
+
+        assertTrue(compiled.isRequestSubjectToQueue(URL + "?Aa=BBBB"));
+        assertTrue(compiled.isRequestSubjectToQueue(URL + "?BB=AaBB"));
+        assertFalse(compiled.isRequestSubjectToQueue(URL + "?BB=AaAa"));
+        assertFalse(compiled.isRequestSubjectToQueue(URL + "?Aa=BBAa"));
+        assertFalse(compiled.isRequestSubjectToQueue(URL + "?Aa=AaBB"));
+    }
+
+    @Test
+    void encodedParamsAreDecodedBeforeMatching() {
+        var rules = List.of(
+                rule("q", MatchOperator.EQUAL, "hello world"),
+                rule("이름", MatchOperator.STARTSWITH, "홍"),
+                rule("raw", MatchOperator.EQUAL, "%zz")
+        );
+        var compiled = CompiledActionRules.compile(DefaultRuleType.INCLUDE, rules);
+
+        assertTrue(compiled.isRequestSubjectToQueue(URL + "?q=hello+world"));
+        assertTrue(compiled.isRequestSubjectToQueue(URL + "?q=hello%20world"));
+        assertTrue(compiled.isRequestSubjectToQueue(URL + "?%71=hello%20world"));
+        assertTrue(compiled.isRequestSubjectToQueue(URL + "?" + encode("이름") + "=" + encode("홍길동")));
+        assertFalse(compiled.isRequestSubjectToQueue(URL + "?q=hello%2Bworld"));
+        // 잘못된 percent-encoding 은 원문 그대로 비교
+        assertTrue(compiled.isRequestSubjectToQueue(URL + "?raw=%zz"));
+    }
+
+    @Test
+    void fragmentAndEmptyPairsAreIgnored() {
+        var compiled = CompiledActionRules.compile(DefaultRuleType.INCLUDE, List.of(rule("q", MatchOperator.EQUAL, "a")));
+
+        assertTrue(compiled.isRequestSubjectToQueue(URL + "?&&q=a#q=b"));
+        assertFalse(compiled.isRequestSubjectToQueue(URL + "?p=1#q=a"));
+        assertTrue(CompiledActionRules.compile(DefaultRuleType.INCLUDE, List.of(rule("q", MatchOperator.EQUAL, "")))
+                .isRequestSubjectToQueue(URL + "?q"));
+    }
+
+    @Test
+    void repeatedParamMatchesWhenAnyValueMatches() {
+        // RuleMatcher 는 이름당 값 하나(Map)만 받았으므로, 같은 이름이 여러 번 오면 모든 값을 검사하도록 정함
+        var rules = List.of(rule("q", MatchOperator.EQUAL, "b"));
+
+        assertTrue(CompiledActionRules.compile(DefaultRuleType.INCLUDE, rules).isRequestSubjectToQueue(URL + "?q=a&q=b"));
+        assertTrue(CompiledActionRules.compile(DefaultRuleType.INCLUDE, rules).isRequestSubjectToQueue(URL + "?q=b&q=a"));
+        assertFalse(CompiledActionRules.compile(DefaultRuleType.EXCLUDE, rules).isRequestSubjectToQueue(URL + "?q=a&q=b"));
+        assertFalse(CompiledActionRules.compile(DefaultRuleType.INCLUDE, rules).isRequestSubjectToQueue(URL + "?q=a&q=c"));
+    }
+
+    private static void assertContains(List<String> patterns, String value, boolean expected) {
+        var rules = patterns.stream().map(pattern -> rule("q", MatchOperator.CONTAINS, pattern)).toList();
+        assertEquals(expected, CompiledActionRules.compile(DefaultRuleType.INCLUDE, rules).isRequestSubjectToQueue(URL + "?q=" + value),
+                () -> patterns + " in " + value);
+        assertSameAsRuleMatcher(rules, Map.of("q", value));
+    }
+
+    // 이름이 겹치지 않는 쿼리 파라미터로 URL을 만들어 INCLUDE / EXCLUDE 모두 RuleMatcher 와 비교
+    private static void assertSameAsRuleMatcher(List<ActionRule> rules, Map<String, String> params) {
+        var query = new StringBuilder(URL).append('?');
+        params.forEach((name, value) -> query.append(encode(name)).append('=').append(encode(value)).append('&'));
+        String url = query.toString();
+        for (DefaultRuleType defaultRuleType : List.of(DefaultRuleType.INCLUDE, DefaultRuleType.EXCLUDE)) {
+            assertEquals(ruleMatcher(defaultRuleType, rules, params),
+                    CompiledActionRules.compile(defaultRuleType, rules).isRequestSubjectToQueue(url),
+                    () -> defaultRuleType + " " + describe(rules) + " " + url);
+        }
+    }
+
+    // 이전 RuleMatcher.isRequestSubjectToQueue 의 INCLUDE / EXCLUDE 해석
+    private static boolean ruleMatcher(DefaultRuleType defaultRuleType, List<ActionRule> rules, Map<String, String> params) {
+        boolean anyMatches = false;
+        for (ActionRule rule : rules) {
+            String requestValue = params.get(rule.getParamName());
+            if (requestValue != null && ruleMatcherMatches(requestValue, rule.getParamValue(), rule.getMatchOperator())) {
+                anyMatches = true;
+                break;
+            }
+        }
+        return defaultRuleType == DefaultRuleType.INCLUDE ? anyMatches : !anyMatches;
+    }
+
+    // 이전 RuleMatcher.matches 의 연산자 표
+    private static boolean ruleMatcherMatches(String requestValue, String ruleValue, MatchOperator operator) {
+        if (requestValue == null || ruleValue == null || operator == null) {
+            return false;
+        }
+        return switch (operator) {
+            case EQUAL -> requestValue.equals(ruleValue);
+            case CONTAINS -> requestValue.contains(ruleValue);
+            case STARTSWITH -> requestValue.startsWith(ruleValue);
+            case ENDSWITH -> requestValue.endsWith(ruleValue);
+        };
+    }
+
+    // 부분 문자열이 자주 겹치도록 작은 알파벳으로 생성
+    private static String randomValue(Random random, int maxLength) {
+        char[] value = new char[random.nextInt(maxLength + 1)];
+        for (int i = 0; i < value.length; i++) {
+            value[i] = "abc".charAt(random.nextInt(3));
+        }
+        return new String(value);
+    }
+
+    private static ActionRule rule(String paramName, MatchOperator operator, String paramValue) {
+        var rule = new ActionRule();
+        rule.setParamName(paramName);
+        rule.setMatchOperator(operator);
+        rule.setParamValue(paramValue);
+        return rule;
+    }
+
+    private static String describe(List<ActionRule> rules) {
+        return rules.stream().map(rule -> rule.getParamName() + " " + rule.getMatchOperator() + " '" + rule.getParamValue() + "'").toList().toString();
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}